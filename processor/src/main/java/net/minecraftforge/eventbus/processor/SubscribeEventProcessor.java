@@ -0,0 +1,315 @@
+package net.minecraftforge.eventbus.processor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generates an {@code IEventRegistrarProvider} for every class with {@code @SubscribeEvent} methods, and lists
+ * them in a {@code META-INF/services} file so {@code EventRegistrarRegistry.registerProviders} can find them.
+ *
+ * <p>The generated registrars add each handler with its event type, generic filter, priority and cancellation flag
+ * spelled out, so the bus neither scans classes nor resolves lambda types when they are registered.
+ *
+ * <p>The processor only refers to the event bus classes by name, so it doesn't depend on the bus itself.
+ */
+public class SubscribeEventProcessor extends AbstractProcessor {
+	private static final String SUBSCRIBE_EVENT = "net.minecraftforge.eventbus.api.SubscribeEvent";
+	private static final String EVENT = "net.minecraftforge.eventbus.api.Event";
+	private static final String GENERIC_EVENT = "net.minecraftforge.eventbus.api.GenericEvent";
+	private static final String PROVIDER = "net.minecraftforge.eventbus.api.IEventRegistrarProvider";
+	private static final String REGISTRY = "net.minecraftforge.eventbus.api.EventRegistrarRegistry";
+	private static final String PRIORITY = "net.minecraftforge.eventbus.api.EventPriority";
+	private static final String SUFFIX = "_EventRegistrar";
+
+	private final Set<String> providers = new TreeSet<>();
+
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton(SUBSCRIBE_EVENT);
+	}
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		if (roundEnv.processingOver()) {
+			writeServiceFile();
+			return false;
+		}
+
+		final TypeElement annotation = processingEnv.getElementUtils().getTypeElement(SUBSCRIBE_EVENT);
+
+		if (annotation == null) {
+			return false;
+		}
+
+		final Map<TypeElement, List<Handler>> handlers = new LinkedHashMap<>();
+
+		for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+			final Handler handler = toHandler((ExecutableElement) element, annotation);
+
+			if (handler != null) {
+				handlers.computeIfAbsent((TypeElement) element.getEnclosingElement(), k -> new ArrayList<>()).add(handler);
+			}
+		}
+
+		handlers.forEach(this::writeProvider);
+		return true;
+	}
+
+	private Handler toHandler(ExecutableElement method, TypeElement annotation) {
+		final TypeElement owner = (TypeElement) method.getEnclosingElement();
+
+		if (method.getModifiers().contains(Modifier.PRIVATE)) {
+			return error(method, "@SubscribeEvent methods must not be private");
+		}
+
+		if (method.getReturnType().getKind() != TypeKind.VOID) {
+			return error(method, "@SubscribeEvent methods must return void");
+		}
+
+		if (method.getParameters().size() != 1) {
+			return error(method, "@SubscribeEvent methods must take a single event parameter");
+		}
+
+		for (Element enclosing = owner; enclosing instanceof TypeElement; enclosing = enclosing.getEnclosingElement()) {
+			if (enclosing.getModifiers().contains(Modifier.PRIVATE)) {
+				return error(method, "Classes with @SubscribeEvent methods must not be private: " + enclosing);
+			}
+		}
+
+		final TypeMirror eventType = method.getParameters().get(0).asType();
+
+		if (!isSubtype(eventType, EVENT)) {
+			return error(method, "The parameter of @SubscribeEvent methods must be an Event, not " + eventType);
+		}
+
+		String genericFilter = null;
+
+		if (isSubtype(eventType, GENERIC_EVENT)) {
+			final DeclaredType genericEvent = findSupertype(eventType, GENERIC_EVENT);
+			final TypeMirror filter = genericEvent == null || genericEvent.getTypeArguments().isEmpty() ? null : genericEvent.getTypeArguments().get(0);
+
+			if (filter == null || (filter.getKind() != TypeKind.DECLARED && filter.getKind() != TypeKind.ARRAY)) {
+				return error(method, "Generic events need a concrete type argument to filter on, not " + eventType);
+			}
+
+			genericFilter = classLiteral(filter);
+		}
+
+		String priority = "NORMAL";
+		boolean receiveCanceled = false;
+
+		for (AnnotationMirror mirror : method.getAnnotationMirrors()) {
+			if (!processingEnv.getTypeUtils().isSameType(mirror.getAnnotationType(), annotation.asType())) {
+				continue;
+			}
+
+			for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+				final String name = value.getKey().getSimpleName().toString();
+
+				if (name.equals("priority")) {
+					priority = ((Element) value.getValue().getValue()).getSimpleName().toString();
+				} else if (name.equals("receiveCanceled")) {
+					receiveCanceled = (Boolean) value.getValue().getValue();
+				}
+			}
+		}
+
+		return new Handler(method.getSimpleName().toString(), method.getModifiers().contains(Modifier.STATIC), classLiteral(eventType), genericFilter, priority, receiveCanceled);
+	}
+
+	private boolean isSubtype(TypeMirror type, String superclass) {
+		final TypeElement element = processingEnv.getElementUtils().getTypeElement(superclass);
+		return element != null && processingEnv.getTypeUtils().isSubtype(processingEnv.getTypeUtils().erasure(type), processingEnv.getTypeUtils().erasure(element.asType()));
+	}
+
+	/**
+	 * Finds the parameterization of a superclass as seen from the given type, such as {@code GenericEvent<Item>}
+	 * for {@code RegistryEvent.Register<Item>}.
+	 */
+	private DeclaredType findSupertype(TypeMirror type, String superclass) {
+		if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+
+		if (((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals(superclass)) {
+			return (DeclaredType) type;
+		}
+
+		for (TypeMirror supertype : processingEnv.getTypeUtils().directSupertypes(type)) {
+			final DeclaredType found = findSupertype(supertype, superclass);
+
+			if (found != null) {
+				return found;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Returns a class literal expression of the given type, cast to the parameterized type when it has type arguments
+	 * so that it matches the parameter of the handler.
+	 */
+	private String classLiteral(TypeMirror type) {
+		final String raw = processingEnv.getTypeUtils().erasure(type) + ".class";
+
+		if (type.getKind() == TypeKind.DECLARED && !((DeclaredType) type).getTypeArguments().isEmpty()) {
+			return "(Class<" + type + ">) (Class<?>) " + raw;
+		}
+
+		return raw;
+	}
+
+	private void writeProvider(TypeElement owner, List<Handler> handlers) {
+		final String packageName = processingEnv.getElementUtils().getPackageOf(owner).getQualifiedName().toString();
+		final String binaryName = processingEnv.getElementUtils().getBinaryName(owner).toString();
+		final String simpleName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1)).replace('$', '_') + SUFFIX;
+		final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+		final String ownerName = processingEnv.getTypeUtils().erasure(owner.asType()).toString();
+
+		final StringBuilder source = new StringBuilder();
+
+		if (!packageName.isEmpty()) {
+			source.append("package ").append(packageName).append(";\n\n");
+		}
+
+		source.append("// Generated by the event-racecar annotation processor from ").append(ownerName).append(", do not edit\n");
+		source.append("public final class ").append(simpleName).append(" implements ").append(PROVIDER).append(" {\n");
+		source.append("\t@Override\n");
+		source.append("\t@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+		source.append("\tpublic void registerAll(").append(REGISTRY).append(" registry) {\n");
+		appendRegistrar(source, ownerName, handlers, true);
+		appendRegistrar(source, ownerName, handlers, false);
+		source.append("\t}\n");
+		source.append("}\n");
+
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, owner).openWriter()) {
+			writer.write(source.toString());
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + qualifiedName + ": " + e, owner);
+			return;
+		}
+
+		providers.add(qualifiedName);
+	}
+
+	private void appendRegistrar(StringBuilder source, String ownerName, List<Handler> handlers, boolean statics) {
+		if (handlers.stream().noneMatch(handler -> handler.isStatic == statics)) {
+			return;
+		}
+
+		if (statics) {
+			source.append("\t\tregistry.registerStatic(").append(ownerName).append(".class, bus -> {\n");
+		} else {
+			source.append("\t\tregistry.registerInstance(").append(ownerName).append(".class, (target, bus) -> {\n");
+		}
+
+		for (Handler handler : handlers) {
+			if (handler.isStatic != statics) {
+				continue;
+			}
+
+			source.append("\t\t\tbus.");
+
+			if (handler.genericFilter == null) {
+				source.append("addListener(");
+			} else {
+				source.append("addGenericListener(").append(handler.genericFilter).append(", ");
+			}
+
+			source.append(PRIORITY).append('.').append(handler.priority).append(", ")
+					.append(handler.receiveCanceled).append(", ")
+					.append(handler.eventClass).append(", ")
+					.append(statics ? ownerName : "target").append("::").append(handler.method).append(");\n");
+		}
+
+		source.append("\t\t});\n");
+	}
+
+	/**
+	 * Lists the providers generated by this compilation in the service file, keeping the ones of earlier incremental
+	 * compilations that are still in the output.
+	 */
+	private void writeServiceFile() {
+		if (providers.isEmpty()) {
+			return;
+		}
+
+		final String path = "META-INF/services/" + PROVIDER;
+		final Set<String> entries = new TreeSet<>(providers);
+
+		try {
+			final FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", path);
+
+			try (Reader reader = new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8)) {
+				new BufferedReader(reader).lines().map(String::trim).filter(line -> !line.isEmpty()).forEach(entries::add);
+			}
+		} catch (IOException e) {
+			// No earlier service file
+		}
+
+		try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", path).openWriter()) {
+			for (String entry : entries) {
+				writer.write(entry);
+				writer.write('\n');
+			}
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Failed to write " + path + ": " + e);
+		}
+	}
+
+	private Handler error(Element element, String message) {
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+		return null;
+	}
+
+	private static final class Handler {
+		private final String method;
+		private final boolean isStatic;
+		private final String eventClass;
+		private final String genericFilter;
+		private final String priority;
+		private final boolean receiveCanceled;
+
+		private Handler(String method, boolean isStatic, String eventClass, String genericFilter, String priority, boolean receiveCanceled) {
+			this.method = method;
+			this.isStatic = isStatic;
+			this.eventClass = eventClass;
+			this.genericFilter = genericFilter;
+			this.priority = priority;
+			this.receiveCanceled = receiveCanceled;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package net.minecraftforge.eventbus.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.EventRegistrarRegistry;
+import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SubscribeEventProcessorTest {
+	private static final String FIXTURE = "net.minecraftforge.eventbus.processor.fixture.";
+	private static final String PROVIDERS = "META-INF/services/net.minecraftforge.eventbus.api.IEventRegistrarProvider";
+
+	@Test
+	public void generatedRegistrarsMatchTheAnnotations(@TempDir Path dir) throws Exception {
+		final Path output = compileFixture(dir);
+
+		assertTrue(Files.exists(output.resolve("net/minecraftforge/eventbus/processor/fixture/Handlers_EventRegistrar.class")));
+		assertTrue(Files.exists(output.resolve("net/minecraftforge/eventbus/processor/fixture/Handlers_Nested_EventRegistrar.class")));
+		assertEquals(Arrays.asList(FIXTURE + "Handlers_EventRegistrar", FIXTURE + "Handlers_Nested_EventRegistrar"),
+				Files.readAllLines(output.resolve(PROVIDERS), StandardCharsets.UTF_8));
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader())) {
+			final Class<?> handlers = loader.loadClass(FIXTURE + "Handlers");
+			final Class<?> nested = loader.loadClass(FIXTURE + "Handlers$Nested");
+			final Object handlersInstance = handlers.getConstructor().newInstance();
+			final Object nestedInstance = nested.getConstructor().newInstance();
+
+			EventRegistrarRegistry.INSTANCE.registerProviders(loader);
+			final IEventBus generated = BusBuilder.builder().build();
+			generated.register(handlers);
+			generated.register(handlersInstance);
+			generated.register(nested);
+			generated.register(nestedInstance);
+
+			final IEventBus reflective = BusBuilder.builder().build();
+			addReflectively(reflective, handlers, handlersInstance, nested, nestedInstance);
+
+			final List<String> expected = post(reflective, loader);
+			assertEquals(Arrays.asList(
+					"Nested.onNestedStatic", "Handlers.onStatic", "Handlers.onInstance", "Nested.onNestedInstance",
+					"Handlers.onInstance",
+					"Handlers.onGeneric",
+					"Nested.onOtherGeneric"), expected, "Reflectively added listeners");
+			assertEquals(expected, post(generated, loader), "Listeners added by the generated registrars");
+		}
+	}
+
+	/**
+	 * Compiles the fixture with the processor, against the classes of the bus this test runs with.
+	 *
+	 * @return The class output
+	 */
+	private static Path compileFixture(Path dir) throws IOException, URISyntaxException {
+		final Path source = dir.resolve("src/fixture/Handlers.java");
+		final Path output = dir.resolve("classes");
+		Files.createDirectories(source.getParent());
+		Files.createDirectories(output);
+
+		try (InputStream in = SubscribeEventProcessorTest.class.getResourceAsStream("fixture/Handlers.java")) {
+			Files.copy(in, source);
+		}
+
+		final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		final String bus = Paths.get(Event.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+
+		try (StandardJavaFileManager files = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+			final JavaCompiler.CompilationTask task = compiler.getTask(null, files, null,
+					Arrays.asList("-classpath", bus, "-d", output.toString()),
+					null, files.getJavaFileObjects(source.toFile()));
+			task.setProcessors(Collections.singletonList(new SubscribeEventProcessor()));
+			assertTrue(task.call(), "Fixture compiled");
+		}
+
+		return output;
+	}
+
+	/**
+	 * Adds the methods of the fixture the way its annotations describe them, invoking them with reflection.
+	 * {@link SubscribeEvent} is only retained in class files, so the annotations are repeated here.
+	 */
+	private static void addReflectively(IEventBus bus, Class<?> handlers, Object handlersInstance, Class<?> nested, Object nestedInstance) throws ReflectiveOperationException {
+		final Class<Event> testEvent = eventClass(handlers, FIXTURE + "Handlers$TestEvent");
+		final Class<GenericEvent<Object>> typedEvent = eventClass(handlers, FIXTURE + "Handlers$TypedEvent");
+
+		bus.addListener(EventPriority.HIGH, false, testEvent, invoker(handlers, "onStatic", null));
+		bus.addListener(EventPriority.LOW, true, testEvent, invoker(handlers, "onInstance", handlersInstance));
+		bus.addGenericListener(erase(String.class), EventPriority.NORMAL, false, typedEvent, invoker(handlers, "onGeneric", handlersInstance));
+		bus.addListener(EventPriority.HIGHEST, false, testEvent, invoker(nested, "onNestedStatic", null));
+		bus.addListener(EventPriority.LOWEST, false, testEvent, invoker(nested, "onNestedInstance", nestedInstance));
+		bus.addGenericListener(erase(Integer.class), EventPriority.NORMAL, false, typedEvent, invoker(nested, "onOtherGeneric", null));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Class<T> eventClass(Class<?> handlers, String name) throws ClassNotFoundException {
+		return (Class<T>) Class.forName(name, true, handlers.getClassLoader());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Class<Object> erase(Class<?> type) {
+		return (Class<Object>) type;
+	}
+
+	private static <T extends Event> Consumer<T> invoker(Class<?> type, String name, Object target) {
+		final Method method = Arrays.stream(type.getDeclaredMethods()).filter(m -> m.getName().equals(name)).findFirst().orElseThrow(IllegalArgumentException::new);
+		method.setAccessible(true);
+		return event -> invoke(method, target, event);
+	}
+
+	private static void invoke(Method method, Object target, Event event) {
+		try {
+			method.invoke(target, event);
+		} catch (IllegalAccessException | InvocationTargetException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Posts a plain, a cancelled and two generic events.
+	 *
+	 * @return The handlers that were invoked, in order
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<String> post(IEventBus bus, ClassLoader loader) throws ReflectiveOperationException {
+		final List<String> calls = (List<String>) loader.loadClass(FIXTURE + "Handlers").getField("CALLS").get(null);
+		final Class<?> testEvent = loader.loadClass(FIXTURE + "Handlers$TestEvent");
+		final Class<?> typedEvent = loader.loadClass(FIXTURE + "Handlers$TypedEvent");
+		calls.clear();
+
+		bus.post((Event) testEvent.getConstructor().newInstance());
+		final Event cancelled = (Event) testEvent.getConstructor().newInstance();
+		cancelled.setCanceled(true);
+		bus.post(cancelled);
+		bus.post((Event) typedEvent.getConstructor(Class.class).newInstance(String.class));
+		bus.post((Event) typedEvent.getConstructor(Class.class).newInstance(Integer.class));
+
+		final List<String> ret = new ArrayList<>(calls);
+		calls.clear();
+		return ret;
+	}
+}
@@ -0,0 +1,59 @@
+package net.minecraftforge.eventbus.processor.fixture;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+
+// Compiled by SubscribeEventProcessorTest, every handler of the same event has a priority of its own
+public class Handlers {
+	public static final List<String> CALLS = new ArrayList<>();
+
+	@SubscribeEvent(priority = EventPriority.HIGH)
+	public static void onStatic(TestEvent event) {
+		CALLS.add("Handlers.onStatic");
+	}
+
+	@SubscribeEvent(priority = EventPriority.LOW, receiveCanceled = true)
+	public void onInstance(TestEvent event) {
+		CALLS.add("Handlers.onInstance");
+	}
+
+	@SubscribeEvent
+	public void onGeneric(TypedEvent<String> event) {
+		CALLS.add("Handlers.onGeneric");
+	}
+
+	public static class Nested {
+		@SubscribeEvent(priority = EventPriority.HIGHEST)
+		public static void onNestedStatic(TestEvent event) {
+			CALLS.add("Nested.onNestedStatic");
+		}
+
+		@SubscribeEvent(priority = EventPriority.LOWEST)
+		void onNestedInstance(TestEvent event) {
+			CALLS.add("Nested.onNestedInstance");
+		}
+
+		@SubscribeEvent
+		public static void onOtherGeneric(TypedEvent<Integer> event) {
+			CALLS.add("Nested.onOtherGeneric");
+		}
+	}
+
+	public static class TestEvent extends Event {
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+	}
+
+	public static class TypedEvent<T> extends GenericEvent<T> {
+		public TypedEvent(Class<T> type) {
+			super(type);
+		}
+	}
+}
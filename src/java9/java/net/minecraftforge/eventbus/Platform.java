@@ -0,0 +1,16 @@
+package net.minecraftforge.eventbus;
+
+/**
+ * Runtime specific helpers, Java 9+ version.
+ */
+final class Platform {
+	private Platform() {
+	}
+
+	/**
+	 * Hints that the caller is busy waiting.
+	 */
+	static void onSpinWait() {
+		Thread.onSpinWait();
+	}
+}
@@ -0,0 +1,50 @@
+package net.minecraftforge.eventbus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Holds the version stamp and the current snapshot of a per-bus listener list.
+ *
+ * <p>Java 9+ version: snapshots are immutable and safely published through their final fields, so release writes
+ * and acquire reads are enough to hand them from the rebuilding thread to posting threads.
+ *
+ * @param <S> The snapshot type
+ */
+abstract class SnapshotSlot<S> {
+	private static final VarHandle VERSION;
+	private static final VarHandle SNAPSHOT;
+
+	static {
+		try {
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			VERSION = lookup.findVarHandle(SnapshotSlot.class, "version", int.class);
+			SNAPSHOT = lookup.findVarHandle(SnapshotSlot.class, "snapshot", Object.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private int version = 0;
+	private S snapshot;
+
+	final int getVersion() {
+		return (int) VERSION.getAcquire(this);
+	}
+
+	/**
+	 * Marks the listeners as changed. Must only be called while holding the write lock of the list.
+	 */
+	final void incrementVersion() {
+		VERSION.setRelease(this, version + 1);
+	}
+
+	@SuppressWarnings("unchecked")
+	final S getPublishedSnapshot() {
+		return (S) SNAPSHOT.getAcquire(this);
+	}
+
+	final void publishSnapshot(S snapshot) {
+		SNAPSHOT.setRelease(this, snapshot);
+	}
+}
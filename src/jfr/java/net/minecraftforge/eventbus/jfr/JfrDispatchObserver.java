@@ -0,0 +1,74 @@
+package net.minecraftforge.eventbus.jfr;
+
+import java.util.ArrayDeque;
+
+import jdk.jfr.EventType;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventListener;
+
+/**
+ * Emits JDK Flight Recorder events for posts and, if enabled in the recording settings, for listeners
+ * taking longer than their threshold.
+ *
+ * <p>Loaded reflectively by the event bus only on runtimes that ship JFR. While no recording has the events enabled,
+ * buses skip the observer entirely.
+ */
+public final class JfrDispatchObserver implements IDispatchObserver {
+	private static final EventType POST = EventType.getEventType(PostEvent.class);
+	private static final EventType LISTENER = EventType.getEventType(ListenerEvent.class);
+
+	// Open spans of the current thread, posts can nest when listeners post further events
+	private final ThreadLocal<ArrayDeque<jdk.jfr.Event>> spans = ThreadLocal.withInitial(ArrayDeque::new);
+
+	@Override
+	public boolean isEnabled() {
+		return POST.isEnabled() || LISTENER.isEnabled();
+	}
+
+	@Override
+	public boolean observesListeners() {
+		return LISTENER.isEnabled();
+	}
+
+	@Override
+	public void onPostStarted(int busID, Event event, int listenerCount) {
+		PostEvent span = new PostEvent();
+		span.begin();
+		spans.get().push(span);
+	}
+
+	@Override
+	public void onListenerStarted(int busID, Event event, IEventListener listener) {
+		ListenerEvent span = new ListenerEvent();
+		span.begin();
+		spans.get().push(span);
+	}
+
+	@Override
+	public void onListenerFinished(int busID, Event event, IEventListener listener) {
+		ListenerEvent span = (ListenerEvent) spans.get().pop();
+		span.end();
+
+		if (span.shouldCommit()) {
+			span.eventClass = event.getClass();
+			span.busID = busID;
+			span.listener = String.valueOf(listener);
+			span.commit();
+		}
+	}
+
+	@Override
+	public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+		PostEvent span = (PostEvent) spans.get().pop();
+		span.end();
+
+		if (span.shouldCommit()) {
+			span.eventClass = event.getClass();
+			span.busID = busID;
+			span.listenerCount = listenerCount;
+			span.cancelled = cancelled;
+			span.commit();
+		}
+	}
+}
@@ -0,0 +1,27 @@
+package net.minecraftforge.eventbus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("net.minecraftforge.eventbus.Listener")
+@Label("Event Listener")
+@Category("Event Bus")
+@Description("A single listener invoked for an event, disabled by default and only recorded above its threshold")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+final class ListenerEvent extends jdk.jfr.Event {
+	@Label("Event Class")
+	Class<?> eventClass;
+
+	@Label("Bus ID")
+	int busID;
+
+	@Label("Listener")
+	String listener;
+}
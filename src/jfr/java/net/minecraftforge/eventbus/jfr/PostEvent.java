@@ -0,0 +1,26 @@
+package net.minecraftforge.eventbus.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("net.minecraftforge.eventbus.Post")
+@Label("Event Post")
+@Category("Event Bus")
+@Description("An event posted to an event bus, spanning the invocation of all of its listeners")
+@StackTrace(false)
+final class PostEvent extends jdk.jfr.Event {
+	@Label("Event Class")
+	Class<?> eventClass;
+
+	@Label("Bus ID")
+	int busID;
+
+	@Label("Listener Count")
+	int listenerCount;
+
+	@Label("Cancelled")
+	boolean cancelled;
+}
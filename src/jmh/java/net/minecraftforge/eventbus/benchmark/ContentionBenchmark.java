@@ -0,0 +1,204 @@
+package net.minecraftforge.eventbus.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures post throughput and registration latency while listeners are added and removed from other threads.
+ *
+ * <p>Each group mixes posting threads with registering threads in a different ratio. The thread counts can be
+ * scaled with JMH's {@code -tg} option, for example {@code ./gradlew jmh -PjmhArgs="ContentionBenchmark -tg 6,2"}.
+ *
+ * <p>Every post and registration checks its outcome. Posts verify that each of the fixed listeners ran exactly
+ * once, and registering threads verify that their own listener is invoked exactly once after adding it and not at
+ * all after removing it. Any mismatch fails the trial.
+ */
+@State(Scope.Group)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentionBenchmark {
+	@Param({"10", "100"})
+	public int listeners;
+
+	private IEventBus bus;
+	private final AtomicLong failures = new AtomicLong();
+
+	@Setup(Level.Trial)
+	public void setup() {
+		bus = BusBuilder.builder().setTrackPhases(false).build();
+
+		for (int x = 0; x < listeners; x++) {
+			bus.addListener(EventPriority.NORMAL, false, LoadEvent.class, LoadEvent::hit);
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void check() {
+		if (failures.get() > 0) {
+			throw new IllegalStateException(failures.get() + " posts or registrations lost or repeated a listener invocation");
+		}
+	}
+
+	private void post(IEventBus target, Poster poster) {
+		final LoadEvent event = poster.event;
+		event.reset(null);
+		target.post(event);
+
+		if (event.hits != listeners) {
+			failures.incrementAndGet();
+		}
+	}
+
+	private void churn(IEventBus target, Writer writer) {
+		final Consumer<LoadEvent> listener = writer.listener;
+		final LoadEvent event = writer.event;
+
+		target.addListener(EventPriority.NORMAL, false, LoadEvent.class, listener);
+		event.reset(writer);
+		target.post(event);
+
+		if (event.probeHits != 1) {
+			failures.incrementAndGet();
+		}
+
+		target.unregister(listener);
+		event.reset(writer);
+		target.post(event);
+
+		if (event.probeHits != 0) {
+			failures.incrementAndGet();
+		}
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(3)
+	public void readMostlyPost(Poster poster) {
+		post(bus, poster);
+	}
+
+	@Benchmark
+	@Group("readMostly")
+	@GroupThreads(1)
+	public void readMostlyRegister(Writer writer) {
+		churn(bus, writer);
+	}
+
+	@Benchmark
+	@Group("balanced")
+	@GroupThreads(2)
+	public void balancedPost(Poster poster) {
+		post(bus, poster);
+	}
+
+	@Benchmark
+	@Group("balanced")
+	@GroupThreads(2)
+	public void balancedRegister(Writer writer) {
+		churn(bus, writer);
+	}
+
+	@Benchmark
+	@Group("writeHeavy")
+	@GroupThreads(1)
+	public void writeHeavyPost(Poster poster) {
+		post(bus, poster);
+	}
+
+	@Benchmark
+	@Group("writeHeavy")
+	@GroupThreads(3)
+	public void writeHeavyRegister(Writer writer) {
+		churn(bus, writer);
+	}
+
+	/**
+	 * Registering threads work on buses of their own, so any slowdown of the posting threads comes from state shared
+	 * between buses rather than from the listeners they post to.
+	 */
+	@Benchmark
+	@Group("separateBuses")
+	@GroupThreads(2)
+	public void separateBusesPost(Poster poster) {
+		post(bus, poster);
+	}
+
+	@Benchmark
+	@Group("separateBuses")
+	@GroupThreads(2)
+	public void separateBusesRegister(Writer writer) {
+		churn(writer.ownBus, writer);
+	}
+
+	@State(Scope.Thread)
+	public static class Poster {
+		private final LoadEvent event = new LoadEvent();
+	}
+
+	@State(Scope.Thread)
+	public static class Writer {
+		private final LoadEvent event = new LoadEvent();
+		// Captures the writer, so every thread adds and removes a listener of its own
+		private final Consumer<LoadEvent> listener = event -> event.probe(this);
+		// Has the same fixed listeners as the shared bus, so its snapshots are rebuilt at the same size
+		private IEventBus ownBus;
+
+		@Setup(Level.Trial)
+		public void setup(ContentionBenchmark benchmark) {
+			ownBus = BusBuilder.builder().setTrackPhases(false).build();
+
+			for (int x = 0; x < benchmark.listeners; x++) {
+				ownBus.addListener(EventPriority.NORMAL, false, LoadEvent.class, LoadEvent::hit);
+			}
+		}
+	}
+
+	public static class LoadEvent extends Event {
+		private Object probe;
+		private int hits;
+		private int probeHits;
+
+		private void reset(Object probe) {
+			this.probe = probe;
+			this.hits = 0;
+			this.probeHits = 0;
+		}
+
+		private void hit() {
+			hits++;
+		}
+
+		/**
+		 * Counts the invocations of the posting writer's own listener, ignoring the ones added by other writers.
+		 */
+		private void probe(Writer writer) {
+			if (probe == writer) {
+				probeHits++;
+			}
+		}
+	}
+}
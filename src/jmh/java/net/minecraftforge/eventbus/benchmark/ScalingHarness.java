@@ -0,0 +1,382 @@
+package net.minecraftforge.eventbus.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.ToLongFunction;
+
+import net.minecraftforge.eventbus.EventBusDiagnostics;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.EventRegistrarRegistry;
+import net.minecraftforge.eventbus.api.IEventBus;
+
+/**
+ * Measures how registration time, first post latency and retained heap grow with the size of a mod pack.
+ *
+ * <p>Each step generates a synthetic pack: a hierarchy of event classes, and mods whose instance registrars are
+ * added to {@link EventRegistrarRegistry} and subscribe to a skewed random pick of those classes, the way a few
+ * events of a real pack are far more popular than the rest. Every bus then registers every mod and posts one event
+ * of each class twice, the first post paying for building the dispatch tables.
+ *
+ * <p>The report lists one row per step, along with the scaling exponent of registration time and of retained heap
+ * against the previous step, 1 meaning linear growth. Retained heap is reported both as measured after a full
+ * collection, which is noisy, and as estimated by {@link EventBusDiagnostics}, which is deterministic and what
+ * the optional limits check against:
+ *
+ * <pre>
+ * ./gradlew scalingHarness -PharnessArgs="--classes 500,1000,2000,4000 --buses 16 --max-exponent 1.2"
+ * </pre>
+ *
+ * <p>Options:
+ * <ul>
+ *     <li>{@code --classes} The number of event classes of each step, comma separated</li>
+ *     <li>{@code --listeners-per-class} The average number of listeners per event class and bus</li>
+ *     <li>{@code --classes-per-mod} How many event classes there are for each mod</li>
+ *     <li>{@code --buses} The number of buses, each registering every mod</li>
+ *     <li>{@code --depth} The maximum depth of the event class hierarchy below {@link Event}</li>
+ *     <li>{@code --json} A file to write the results to as JSON</li>
+ *     <li>{@code --max-bytes-per-listener} Fails if the estimated heap per listener exceeds this in any step</li>
+ *     <li>{@code --max-exponent} Fails if the estimated heap grows faster than this exponent between two steps</li>
+ * </ul>
+ */
+public final class ScalingHarness {
+	private static final String PACKAGE = ScalingHarness.class.getPackage().getName() + ".generated.";
+	private static final EventPriority[] PRIORITIES = EventPriority.values();
+
+	private static long invocations;
+
+	private ScalingHarness() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		final Options options = new Options(args);
+		final List<Result> results = new ArrayList<>();
+
+		System.out.printf(Locale.ROOT, "%8s %9s %6s %11s %10s %11s %11s %10s %12s %12s %12s %9s %9s%n",
+				"classes", "listeners", "buses", "register ms", "us/listen", "first us", "first max", "post ns",
+				"heap/bus", "heap/class", "est/listen", "exp time", "exp heap");
+
+		// Loads and compiles the bus before the first reported step, which would otherwise pay for it
+		run("Warmup", -1, options.classes[0], options);
+
+		for (int step = 0; step < options.classes.length; step++) {
+			final Result result = run("Step" + step, step, options.classes[step], options);
+			final Result previous = results.isEmpty() ? null : results.get(results.size() - 1);
+			results.add(result);
+
+			System.out.printf(Locale.ROOT, "%8d %9d %6d %11.1f %10.2f %11.1f %11.1f %10.0f %12d %12d %12.1f %9s %9s%n",
+					result.classes, result.listeners, result.buses, result.registrationNanos / 1e6,
+					result.registrationNanos / 1e3 / ((double) result.listeners * result.buses),
+					result.firstPostNanos / 1e3 / ((double) result.classes * result.buses), result.firstPostMaxNanos / 1e3,
+					result.postNanos / ((double) result.classes * result.buses),
+					result.measuredBytes / result.buses, result.measuredBytes / ((long) result.buses * result.classes),
+					result.estimatedBytesPerListener(),
+					previous == null ? "-" : String.format(Locale.ROOT, "%.2f", exponent(previous, result, r -> r.registrationNanos)),
+					previous == null ? "-" : String.format(Locale.ROOT, "%.2f", exponent(previous, result, r -> r.estimatedBytes)));
+		}
+
+		if (options.json != null) {
+			try (Writer writer = Files.newBufferedWriter(Paths.get(options.json), StandardCharsets.UTF_8)) {
+				writeJson(writer, results);
+			}
+		}
+
+		final List<String> failures = check(results, options);
+
+		if (!failures.isEmpty()) {
+			failures.forEach(System.err::println);
+			System.exit(1);
+		}
+	}
+
+	private static Result run(String name, long seed, int classes, Options options) throws ReflectiveOperationException {
+		final Pack pack = new Pack(name, seed, classes, options);
+		final Event[] events = new Event[classes];
+
+		for (int x = 0; x < classes; x++) {
+			events[x] = pack.eventClasses[x].getConstructor().newInstance();
+		}
+
+		final long heapBefore = usedHeap();
+		final IEventBus[] buses = new IEventBus[options.buses];
+		final long registrationStart = System.nanoTime();
+
+		for (int x = 0; x < buses.length; x++) {
+			buses[x] = BusBuilder.builder().setTrackPhases(false).build();
+
+			for (Object mod : pack.mods) {
+				buses[x].register(mod);
+			}
+		}
+
+		final long registrationNanos = System.nanoTime() - registrationStart;
+		long firstPostMaxNanos = 0;
+		invocations = 0;
+		final long firstPostStart = System.nanoTime();
+
+		for (IEventBus bus : buses) {
+			for (Event event : events) {
+				final long start = System.nanoTime();
+				bus.post(event);
+				firstPostMaxNanos = Math.max(firstPostMaxNanos, System.nanoTime() - start);
+			}
+		}
+
+		final long firstPostNanos = System.nanoTime() - firstPostStart;
+
+		if (invocations != pack.expectedInvocations * buses.length) {
+			throw new IllegalStateException("Expected " + pack.expectedInvocations * buses.length + " listener invocations, got " + invocations);
+		}
+
+		final long postStart = System.nanoTime();
+
+		for (IEventBus bus : buses) {
+			for (Event event : events) {
+				bus.post(event);
+			}
+		}
+
+		final long postNanos = System.nanoTime() - postStart;
+		final long measuredBytes = Math.max(0, usedHeap() - heapBefore);
+		long estimatedBytes = 0;
+
+		// Also keeps the buses reachable until the heap was measured
+		for (IEventBus bus : buses) {
+			estimatedBytes += EventBusDiagnostics.capture(bus).getEstimatedBytes();
+		}
+
+		return new Result(classes, pack.listeners, buses.length, registrationNanos, firstPostNanos, firstPostMaxNanos, postNanos, measuredBytes, estimatedBytes);
+	}
+
+	private static void hit(Event event) {
+		invocations++;
+	}
+
+	private static long usedHeap() {
+		final Runtime runtime = Runtime.getRuntime();
+
+		for (int x = 0; x < 3; x++) {
+			System.gc();
+		}
+
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * @return The exponent k of metric = c * classes^k fitted through two steps
+	 */
+	private static double exponent(Result from, Result to, ToLongFunction<Result> metric) {
+		return Math.log((double) metric.applyAsLong(to) / metric.applyAsLong(from)) / Math.log((double) to.classes / from.classes);
+	}
+
+	private static List<String> check(List<Result> results, Options options) {
+		final List<String> failures = new ArrayList<>();
+
+		for (int x = 0; x < results.size(); x++) {
+			final Result result = results.get(x);
+
+			if (options.maxBytesPerListener > 0 && result.estimatedBytesPerListener() > options.maxBytesPerListener) {
+				failures.add(String.format(Locale.ROOT, "%d classes: %.1f estimated bytes per listener exceeds the limit of %.1f",
+						result.classes, result.estimatedBytesPerListener(), options.maxBytesPerListener));
+			}
+
+			if (options.maxExponent > 0 && x > 0) {
+				final double exponent = exponent(results.get(x - 1), result, r -> r.estimatedBytes);
+
+				if (exponent > options.maxExponent) {
+					failures.add(String.format(Locale.ROOT, "%d classes: estimated heap grew with exponent %.2f, exceeding the limit of %.2f",
+							result.classes, exponent, options.maxExponent));
+				}
+			}
+		}
+
+		return failures;
+	}
+
+	private static void writeJson(Writer out, List<Result> results) throws IOException {
+		out.write("[");
+
+		for (int x = 0; x < results.size(); x++) {
+			final Result result = results.get(x);
+
+			if (x > 0) {
+				out.write(",");
+			}
+
+			out.write(String.format(Locale.ROOT, "%n{\"classes\":%d,\"listeners\":%d,\"buses\":%d,\"registrationNanos\":%d,\"firstPostNanos\":%d,"
+					+ "\"firstPostMaxNanos\":%d,\"postNanos\":%d,\"measuredBytes\":%d,\"estimatedBytes\":%d}",
+					result.classes, result.listeners, result.buses, result.registrationNanos, result.firstPostNanos,
+					result.firstPostMaxNanos, result.postNanos, result.measuredBytes, result.estimatedBytes));
+		}
+
+		out.write(String.format("%n]%n"));
+	}
+
+	/**
+	 * The generated event classes and mods of one step.
+	 */
+	private static final class Pack {
+		private final Class<? extends Event>[] eventClasses;
+		private final Object[] mods;
+		private final int listeners;
+		// Per bus, every listener is invoked once for each posted event of its class or a subclass
+		private final long expectedInvocations;
+
+		@SuppressWarnings("unchecked")
+		private Pack(String name, long seed, int classes, Options options) throws ReflectiveOperationException {
+			final Random random = new Random(seed);
+			final SyntheticClassLoader loader = new SyntheticClassLoader(ScalingHarness.class.getClassLoader());
+			final int[] parents = new int[classes];
+			final int[] depths = new int[classes];
+			eventClasses = (Class<? extends Event>[]) new Class<?>[classes];
+
+			for (int x = 0; x < classes; x++) {
+				final int parent = x == 0 ? -1 : random.nextInt(x);
+
+				// A quarter of the classes start a new hierarchy right below Event
+				if (parent >= 0 && depths[parent] < options.depth && random.nextInt(4) != 0) {
+					parents[x] = parent;
+					depths[x] = depths[parent] + 1;
+				} else {
+					parents[x] = -1;
+					depths[x] = 1;
+				}
+
+				final Class<?> superclass = parents[x] < 0 ? Event.class : eventClasses[parents[x]];
+				eventClasses[x] = loader.define(PACKAGE + name + "Event" + x, superclass).asSubclass(Event.class);
+			}
+
+			final int modCount = Math.max(1, classes / options.classesPerMod);
+			final List<List<Class<? extends Event>>> subscriptions = new ArrayList<>();
+			final List<List<EventPriority>> priorities = new ArrayList<>();
+			final long[] ownListeners = new long[classes];
+			listeners = classes * options.listenersPerClass;
+
+			for (int x = 0; x < modCount; x++) {
+				subscriptions.add(new ArrayList<>());
+				priorities.add(new ArrayList<>());
+			}
+
+			for (int x = 0; x < listeners; x++) {
+				// Squaring skews the pick towards the first classes, which are also the roots of most hierarchies
+				final int eventClass = (int) (classes * Math.pow(random.nextDouble(), 2));
+				subscriptions.get(x % modCount).add(eventClasses[eventClass]);
+				priorities.get(x % modCount).add(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+				ownListeners[eventClass]++;
+			}
+
+			final long[] inheritedListeners = new long[classes];
+			long expected = 0;
+
+			for (int x = 0; x < classes; x++) {
+				inheritedListeners[x] = ownListeners[x] + (parents[x] < 0 ? 0 : inheritedListeners[parents[x]]);
+				expected += inheritedListeners[x];
+			}
+
+			expectedInvocations = expected;
+			mods = new Object[modCount];
+
+			for (int x = 0; x < modCount; x++) {
+				final Class<Object> modClass = (Class<Object>) loader.define(PACKAGE + name + "Mod" + x, Object.class);
+				final List<Class<? extends Event>> types = subscriptions.get(x);
+				final EventPriority[] modPriorities = priorities.get(x).toArray(new EventPriority[0]);
+				final BiConsumer<Object, IEventBus> registrar = (mod, bus) -> {
+					for (int y = 0; y < modPriorities.length; y++) {
+						bus.addListener(modPriorities[y], false, (Class<Event>) types.get(y), ScalingHarness::hit);
+					}
+				};
+
+				EventRegistrarRegistry.INSTANCE.registerInstance(modClass, registrar);
+				mods[x] = modClass.getConstructor().newInstance();
+			}
+		}
+	}
+
+	private static final class Result {
+		private final int classes;
+		private final int listeners;
+		private final int buses;
+		private final long registrationNanos;
+		private final long firstPostNanos;
+		private final long firstPostMaxNanos;
+		private final long postNanos;
+		private final long measuredBytes;
+		private final long estimatedBytes;
+
+		private Result(int classes, int listeners, int buses, long registrationNanos, long firstPostNanos, long firstPostMaxNanos, long postNanos, long measuredBytes, long estimatedBytes) {
+			this.classes = classes;
+			this.listeners = listeners;
+			this.buses = buses;
+			this.registrationNanos = registrationNanos;
+			this.firstPostNanos = firstPostNanos;
+			this.firstPostMaxNanos = firstPostMaxNanos;
+			this.postNanos = postNanos;
+			this.measuredBytes = measuredBytes;
+			this.estimatedBytes = estimatedBytes;
+		}
+
+		private double estimatedBytesPerListener() {
+			return (double) estimatedBytes / ((long) listeners * buses);
+		}
+	}
+
+	private static final class Options {
+		private int[] classes = {250, 500, 1000, 2000};
+		private int listenersPerClass = 8;
+		private int classesPerMod = 20;
+		private int buses = 8;
+		private int depth = 4;
+		private String json;
+		private double maxBytesPerListener;
+		private double maxExponent;
+
+		private Options(String[] args) {
+			for (int x = 0; x < args.length; x++) {
+				if (x + 1 == args.length) {
+					throw new IllegalArgumentException("Missing value of " + args[x]);
+				}
+
+				final String value = args[++x];
+
+				switch (args[x - 1]) {
+				case "--classes":
+					classes = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+					break;
+				case "--listeners-per-class":
+					listenersPerClass = Integer.parseInt(value);
+					break;
+				case "--classes-per-mod":
+					classesPerMod = Integer.parseInt(value);
+					break;
+				case "--buses":
+					buses = Integer.parseInt(value);
+					break;
+				case "--depth":
+					depth = Integer.parseInt(value);
+					break;
+				case "--json":
+					json = value;
+					break;
+				case "--max-bytes-per-listener":
+					maxBytesPerListener = Double.parseDouble(value);
+					break;
+				case "--max-exponent":
+					maxExponent = Double.parseDouble(value);
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option " + args[x - 1]);
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package net.minecraftforge.eventbus.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Defines empty classes at runtime, each with a public no-arg constructor calling the one of its superclass.
+ *
+ * <p>The class files are written by hand, as they only ever hold a constructor, so the harness needs no bytecode
+ * library on its classpath.
+ */
+final class SyntheticClassLoader extends ClassLoader {
+	private static final int ACC_PUBLIC = 0x0001;
+	private static final int ACC_SUPER = 0x0020;
+	private static final int JAVA_8 = 52;
+
+	SyntheticClassLoader(ClassLoader parent) {
+		super(parent);
+	}
+
+	/**
+	 * @param name       The binary name of the class
+	 * @param superclass The superclass, which must be public and have a public or protected no-arg constructor
+	 * @return The defined class
+	 */
+	Class<?> define(String name, Class<?> superclass) {
+		final byte[] bytes = write(name.replace('.', '/'), superclass.getName().replace('.', '/'));
+		return defineClass(name, bytes, 0, bytes.length);
+	}
+
+	private static byte[] write(String internalName, String superName) {
+		final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(JAVA_8);
+
+			// Constant pool, indices start at 1
+			out.writeShort(10);
+			utf8(out, internalName);    // 1
+			classRef(out, 1);           // 2
+			utf8(out, superName);       // 3
+			classRef(out, 3);           // 4
+			utf8(out, "<init>");        // 5
+			utf8(out, "()V");           // 6
+			out.writeByte(12);          // 7, name and type of the constructor
+			out.writeShort(5);
+			out.writeShort(6);
+			out.writeByte(10);          // 8, the constructor of the superclass
+			out.writeShort(4);
+			out.writeShort(7);
+			utf8(out, "Code");          // 9
+
+			out.writeShort(ACC_PUBLIC | ACC_SUPER);
+			out.writeShort(2);
+			out.writeShort(4);
+			out.writeShort(0);
+			out.writeShort(0);
+
+			out.writeShort(1);
+			out.writeShort(ACC_PUBLIC);
+			out.writeShort(5);
+			out.writeShort(6);
+			out.writeShort(1);
+			out.writeShort(9);
+			out.writeInt(17);
+			out.writeShort(1);
+			out.writeShort(1);
+			out.writeInt(5);
+			out.writeByte(0x2A);        // aload_0
+			out.writeByte(0xB7);        // invokespecial #8
+			out.writeShort(8);
+			out.writeByte(0xB1);        // return
+			out.writeShort(0);
+			out.writeShort(0);
+
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return bytes.toByteArray();
+	}
+
+	private static void utf8(DataOutputStream out, String value) throws IOException {
+		out.writeByte(1);
+		out.writeUTF(value);
+	}
+
+	private static void classRef(DataOutputStream out, int nameIndex) throws IOException {
+		out.writeByte(7);
+		out.writeShort(nameIndex);
+	}
+}
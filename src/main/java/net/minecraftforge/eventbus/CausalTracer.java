@@ -0,0 +1,337 @@
+package net.minecraftforge.eventbus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventListener;
+
+/**
+ * Traces which posts were made from within the listeners of other posts, on the buses it is
+ * {@link BusBuilder#setObserver set on}, to find listeners whose nested posts add up to a large part of a tick.
+ *
+ * <p>Each thread keeps a stack of the posts it is dispatching. A post made while another one is on the stack becomes
+ * a child of it, noting the listener that made it. Once a post that isn't nested in any other finishes, its tree is
+ * kept until {@link #clear()}, up to the given number of trees. Further trees are counted but dropped.
+ *
+ * <p>Tracing allocates for every post and times every listener, so it starts disabled and should only be enabled
+ * while collecting a trace.
+ */
+public final class CausalTracer implements IDispatchObserver {
+	private final int maxTrees;
+	private final Queue<Node> trees = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger treeCount = new AtomicInteger();
+	private final AtomicLong droppedTrees = new AtomicLong();
+	private final ThreadLocal<Frame> current = new ThreadLocal<>();
+	private volatile boolean enabled = false;
+
+	/**
+	 * @param maxTrees The number of finished trees kept until the next {@link #clear()}
+	 */
+	public CausalTracer(int maxTrees) {
+		if (maxTrees < 1) {
+			throw new IllegalArgumentException("Tree limit must be at least 1: " + maxTrees);
+		}
+
+		this.maxTrees = maxTrees;
+	}
+
+	/**
+	 * Posts already being dispatched when tracing is enabled aren't traced, so their nested posts show up as trees
+	 * of their own.
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+	}
+
+	@Override
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	@Override
+	public boolean observesListeners() {
+		return true;
+	}
+
+	@Override
+	public void onPostStarted(int busID, Event event, int listenerCount) {
+		final Frame parent = current.get();
+
+		// Buses check that the tracer is enabled, but an observer combining it with others may not
+		if (!enabled) {
+			current.set(new Frame(parent, null));
+			return;
+		}
+
+		final Frame tracedParent = parent == null || parent.node == null ? null : parent;
+		final String postedBy = tracedParent == null || tracedParent.listener == null ? null : tracedParent.listener.toString();
+		final Node node = new Node(busID, event.getClass().getName(), listenerCount, postedBy);
+
+		if (tracedParent != null) {
+			tracedParent.node.children.add(node);
+		}
+
+		current.set(new Frame(parent, node));
+	}
+
+	@Override
+	public void onListenerStarted(int busID, Event event, IEventListener listener) {
+		final Frame frame = current.get();
+
+		if (frame != null) {
+			frame.listener = listener;
+		}
+	}
+
+	@Override
+	public void onListenerFinished(int busID, Event event, IEventListener listener) {
+		final Frame frame = current.get();
+
+		if (frame != null) {
+			frame.listener = null;
+		}
+	}
+
+	@Override
+	public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+		final Frame frame = current.get();
+
+		if (frame == null) {
+			return;
+		}
+
+		if (frame.parent == null) {
+			current.remove();
+		} else {
+			current.set(frame.parent);
+		}
+
+		if (frame.node == null) {
+			return;
+		}
+
+		frame.node.finish(dispatchNanos);
+
+		if (frame.parent == null || frame.parent.node == null) {
+			keep(frame.node);
+		}
+	}
+
+	private void keep(Node tree) {
+		if (treeCount.incrementAndGet() > maxTrees) {
+			treeCount.decrementAndGet();
+			droppedTrees.incrementAndGet();
+			return;
+		}
+
+		trees.add(tree);
+	}
+
+	/**
+	 * @return The finished trees, one per post that wasn't nested in any other, in the order they finished
+	 */
+	public List<Node> getTrees() {
+		return Collections.unmodifiableList(new ArrayList<>(trees));
+	}
+
+	/**
+	 * @return The number of finished trees that were dropped as the limit was reached
+	 */
+	public long getDroppedTrees() {
+		return droppedTrees.get();
+	}
+
+	/**
+	 * Drops the finished trees, making room for new ones. Posts still being dispatched keep being traced.
+	 */
+	public void clear() {
+		while (trees.poll() != null) {
+			treeCount.decrementAndGet();
+		}
+
+		droppedTrees.set(0);
+	}
+
+	/**
+	 * Writes the finished trees as a JSON object.
+	 *
+	 * @param out Where to write to
+	 * @throws IOException If writing fails
+	 */
+	public void writeJson(Appendable out) throws IOException {
+		final List<Node> trees = getTrees();
+		out.append("{\"dropped\":").append(Long.toString(getDroppedTrees())).append(",\"trees\":[");
+
+		for (int x = 0; x < trees.size(); x++) {
+			if (x > 0) {
+				out.append(',');
+			}
+
+			trees.get(x).writeJson(out);
+		}
+
+		out.append("]}");
+	}
+
+	/**
+	 * @return The finished trees as a JSON object
+	 */
+	public String toJson() {
+		final StringBuilder ret = new StringBuilder();
+
+		try {
+			writeJson(ret);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		return ret.toString();
+	}
+
+	/**
+	 * A post being dispatched on the current thread, along with the listener it is currently invoking. Posts started
+	 * while tracing was disabled have no node, and the posts nested in them show up as trees of their own.
+	 */
+	private static final class Frame {
+		private final Frame parent;
+		@Nullable
+		private final Node node;
+		private IEventListener listener;
+
+		private Frame(Frame parent, @Nullable Node node) {
+			this.parent = parent;
+			this.node = node;
+		}
+	}
+
+	/**
+	 * A traced post, and the posts made by its listeners.
+	 */
+	public static final class Node {
+		private final int busID;
+		private final String eventClass;
+		private final int listenerCount;
+		private final String postedBy;
+		private final List<Node> children = new ArrayList<>(0);
+		private long inclusiveNanos;
+		private long exclusiveNanos;
+
+		private Node(int busID, String eventClass, int listenerCount, @Nullable String postedBy) {
+			this.busID = busID;
+			this.eventClass = eventClass;
+			this.listenerCount = listenerCount;
+			this.postedBy = postedBy;
+		}
+
+		private void finish(long dispatchNanos) {
+			long childNanos = 0;
+
+			for (Node child : children) {
+				childNanos += child.inclusiveNanos;
+			}
+
+			inclusiveNanos = dispatchNanos;
+			exclusiveNanos = Math.max(0, dispatchNanos - childNanos);
+		}
+
+		public int getBusID() {
+			return busID;
+		}
+
+		public String getEventClass() {
+			return eventClass;
+		}
+
+		/**
+		 * @return The number of listeners the event was dispatched to, leaving out phase markers
+		 */
+		public int getListenerCount() {
+			return listenerCount;
+		}
+
+		/**
+		 * @return The listener of the parent post that made this post, or null if it isn't nested or was made
+		 * outside of any listener
+		 */
+		@Nullable
+		public String getPostedBy() {
+			return postedBy;
+		}
+
+		/**
+		 * @return The posts made by the listeners of this one, in the order they were made
+		 */
+		public List<Node> getChildren() {
+			return Collections.unmodifiableList(children);
+		}
+
+		/**
+		 * @return The time spent dispatching this post, including its nested posts, in nanoseconds
+		 */
+		public long getInclusiveNanos() {
+			return inclusiveNanos;
+		}
+
+		/**
+		 * @return The time spent dispatching this post, leaving out its nested posts, in nanoseconds
+		 */
+		public long getExclusiveNanos() {
+			return exclusiveNanos;
+		}
+
+		/**
+		 * @return The number of posts nested in this one, at any depth
+		 */
+		public int getDescendantCount() {
+			int count = children.size();
+
+			for (Node child : children) {
+				count += child.getDescendantCount();
+			}
+
+			return count;
+		}
+
+		private void writeJson(Appendable out) throws IOException {
+			out.append("{\"bus\":").append(Integer.toString(busID)).append(",\"event\":");
+			EventBusDiagnostics.appendString(out, eventClass);
+
+			if (postedBy != null) {
+				out.append(",\"postedBy\":");
+				EventBusDiagnostics.appendString(out, postedBy);
+			}
+
+			out.append(",\"listeners\":").append(Integer.toString(listenerCount))
+					.append(",\"inclusiveNanos\":").append(Long.toString(inclusiveNanos))
+					.append(",\"exclusiveNanos\":").append(Long.toString(exclusiveNanos))
+					.append(",\"children\":[");
+
+			for (int x = 0; x < children.size(); x++) {
+				if (x > 0) {
+					out.append(',');
+				}
+
+				children.get(x).writeJson(out);
+			}
+
+			out.append("]}");
+		}
+
+		@Override
+		public String toString() {
+			return "Node{event=" + eventClass + ", bus=" + busID + ", children=" + children.size() + ", inclusiveNanos=" + inclusiveNanos + "}";
+		}
+	}
+}
@@ -0,0 +1,488 @@
+package net.minecraftforge.eventbus;
+
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import net.minecraftforge.eventbus.api.DeferralStats;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IEventExceptionHandler;
+import net.minecraftforge.eventbus.api.IEventListener;
+import net.minecraftforge.eventbus.api.IGenericEvent;
+import net.minecraftforge.eventbus.api.IScopedEventBus;
+import net.minecraftforge.eventbus.api.ListenerGroup;
+import net.minecraftforge.eventbus.api.ISignal;
+import net.minecraftforge.eventbus.api.ListenerThrottle;
+import net.minecraftforge.eventbus.api.SignalKey;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+
+/**
+ * An event bus posting every event to several member buses at once.
+ *
+ * <p>The listeners of all members are merged into one dispatch array per event class, each priority band holding
+ * the listeners of the members in the order they were given. A post is thus a single pass instead of one
+ * lookup and dispatch loop per member. Merged arrays are rebuilt lazily once a member's listeners change, and
+ * members that are shut down are left out.
+ *
+ * <p>Listeners registered through the composite are added to the first member. Posts go through that member's
+ * {@link IDispatchObserver observer}, phase tracking and exception handler, so they are observed and reported like
+ * posts on the member itself. Keyed listeners are dispatched without their member's key index and check their key
+ * themselves. Posts through the composite are never deferred, but draining it drains the posts deferred by its
+ * members.
+ */
+public class CompositeEventBus implements IEventExceptionHandler, IEventBus {
+	private static final Logger LOGGER = LogManager.getLogger();
+	private static final Marker EVENTBUS = MarkerManager.getMarker("EVENTBUS");
+
+	private final EventBus[] members;
+	private final EventBus primary;
+	private final IEventExceptionHandler exceptionHandler;
+	private final ClassValue<MergedCache> caches = new ClassValue<MergedCache>() {
+		@Override
+		protected MergedCache computeValue(Class<?> type) {
+			return new MergedCache();
+		}
+	};
+	private final ConcurrentHashMap<SignalKey<?>, ISignal> signals = new ConcurrentHashMap<>();
+	private volatile boolean shutdown = false;
+
+	/**
+	 * @param members The buses to post to, which must have been created by {@link EventBus} or {@link net.minecraftforge.eventbus.api.BusBuilder}
+	 */
+	public CompositeEventBus(IEventBus... members) {
+		this(null, members);
+	}
+
+	/**
+	 * @param handler The handler for exceptions thrown by listeners, or null to use the one of the first member
+	 * @param members The buses to post to, which must have been created by {@link EventBus} or {@link net.minecraftforge.eventbus.api.BusBuilder}
+	 */
+	public CompositeEventBus(IEventExceptionHandler handler, IEventBus... members) {
+		this(handler, toEventBuses(members), 0);
+	}
+
+	/**
+	 * @param primary The index of the member that listeners registered through this bus are added to
+	 */
+	CompositeEventBus(IEventExceptionHandler handler, EventBus[] members, int primary) {
+		this.members = members;
+		this.primary = members[primary];
+		this.exceptionHandler = handler == null ? this.primary.getExceptionHandler() : handler;
+	}
+
+	private static EventBus[] toEventBuses(IEventBus[] members) {
+		if (members.length == 0) {
+			throw new IllegalArgumentException("A composite bus needs at least one member");
+		}
+
+		final EventBus[] ret = new EventBus[members.length];
+
+		for (int x = 0; x < members.length; x++) {
+			if (!(Objects.requireNonNull(members[x], "member") instanceof EventBus)) {
+				throw new IllegalArgumentException("Unsupported member bus: " + members[x]);
+			}
+
+			ret[x] = (EventBus) members[x];
+		}
+
+		return ret;
+	}
+
+	EventBus[] getMembers() {
+		return members;
+	}
+
+	private IEventListener[] getListeners(ListenerList listenerList, Class<?> eventClass) {
+		MergedCache cache = caches.get(eventClass);
+		Merged merged = cache.merged;
+
+		if (merged == null || !merged.isCurrent(listenerList)) {
+			merged = new Merged(listenerList);
+			cache.merged = merged;
+		}
+
+		return merged.listeners;
+	}
+
+	@Override
+	public void register(Object target) {
+		primary.register(target);
+	}
+
+	@Override
+	public <T extends Event> void addListener(Consumer<T> consumer) {
+		primary.addListener(consumer);
+	}
+
+	@Override
+	public <T extends Event> void addListener(EventPriority priority, Consumer<T> consumer) {
+		primary.addListener(priority, consumer);
+	}
+
+	@Override
+	public <T extends Event> void addListener(EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		primary.addListener(priority, receiveCancelled, consumer);
+	}
+
+	@Override
+	public <T extends Event> void addListener(EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		primary.addListener(priority, receiveCancelled, eventType, consumer);
+	}
+
+	@Override
+	public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, Consumer<T> consumer) {
+		primary.addGenericListener(genericClassFilter, consumer);
+	}
+
+	@Override
+	public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, Consumer<T> consumer) {
+		primary.addGenericListener(genericClassFilter, priority, consumer);
+	}
+
+	@Override
+	public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		primary.addGenericListener(genericClassFilter, priority, receiveCancelled, consumer);
+	}
+
+	@Override
+	public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		primary.addGenericListener(genericClassFilter, priority, receiveCancelled, eventType, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, Consumer<T> consumer) {
+		primary.addKeyedListener(keyExtractor, key, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, Consumer<T> consumer) {
+		primary.addKeyedListener(keyExtractor, key, priority, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		primary.addKeyedListener(keyExtractor, key, priority, receiveCancelled, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		primary.addKeyedListener(keyExtractor, key, priority, receiveCancelled, eventType, consumer);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(O owner, BiConsumer<? super O, T> handler) {
+		primary.addWeakListener(owner, handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(O owner, EventPriority priority, BiConsumer<? super O, T> handler) {
+		primary.addWeakListener(owner, priority, handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(O owner, EventPriority priority, boolean receiveCancelled, BiConsumer<? super O, T> handler) {
+		primary.addWeakListener(owner, priority, receiveCancelled, handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(O owner, EventPriority priority, boolean receiveCancelled, Class<T> eventType, BiConsumer<? super O, T> handler) {
+		primary.addWeakListener(owner, priority, receiveCancelled, eventType, handler);
+	}
+
+	@Override
+	public <T extends Event> void addThrottledListener(ListenerThrottle throttle, Consumer<T> consumer) {
+		primary.addThrottledListener(throttle, consumer);
+	}
+
+	@Override
+	public <T extends Event> void addThrottledListener(ListenerThrottle throttle, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		primary.addThrottledListener(throttle, priority, receiveCancelled, eventType, consumer);
+	}
+
+	@Override
+	public <I> void addInterfaceListener(Class<I> interfaceType, Consumer<? super I> consumer) {
+		primary.addInterfaceListener(interfaceType, consumer);
+	}
+
+	@Override
+	public <I> void addInterfaceListener(Class<I> interfaceType, EventPriority priority, Consumer<? super I> consumer) {
+		primary.addInterfaceListener(interfaceType, priority, consumer);
+	}
+
+	@Override
+	public <I> void addInterfaceListener(Class<I> interfaceType, EventPriority priority, boolean receiveCancelled, Consumer<? super I> consumer) {
+		primary.addInterfaceListener(interfaceType, priority, receiveCancelled, consumer);
+	}
+
+	@Override
+	public void unregister(Object object) {
+		primary.unregister(object);
+	}
+
+	@Override
+	public boolean post(Event event) {
+		if (shutdown) {
+			return false;
+		}
+
+		for (EventBus member : members) {
+			member.purgeCollectedOwners();
+		}
+
+		IEventListener[] listeners = getListeners(event.getListenerList(), event.getClass());
+		return primary.post(this, exceptionHandler, event, listeners, false);
+	}
+
+	@Override
+	public boolean hasListeners(Class<? extends Event> eventType) {
+		return !shutdown && getListeners(EventListenerHelper.getListenerList(eventType), eventType).length > 0;
+	}
+
+	@Override
+	public boolean hasListeners(Class<? extends Event> eventType, Type genericType) {
+		if (shutdown) {
+			return false;
+		}
+
+		for (EventBus member : members) {
+			if (member.hasListeners(eventType, genericType)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	@Override
+	public <T extends Event> boolean post(Class<T> eventType, Supplier<? extends T> factory) {
+		return hasListeners(eventType) && post(factory.get());
+	}
+
+	@Override
+	public <T extends Event & IGenericEvent<?>> boolean post(Class<T> eventType, Type genericType, Supplier<? extends T> factory) {
+		return hasListeners(eventType, genericType) && post(factory.get());
+	}
+
+	@Override
+	public void handleException(IEventBus bus, Event event, IEventListener[] listeners, int index, Throwable throwable) {
+		LOGGER.error(EVENTBUS, () -> new EventBusErrorMessage(event, index, listeners, throwable));
+	}
+
+	/**
+	 * Builds the snapshots of every member bus, then merges them.
+	 */
+	@Override
+	public void prewarm(Collection<? extends Class<?>> eventTypes) {
+		if (shutdown) {
+			return;
+		}
+
+		eventTypes.parallelStream().forEach(eventType -> getListeners(EventListenerHelper.getListenerList(eventType), eventType));
+	}
+
+	@Override
+	public void prewarm() {
+		prewarm(ListenerList.getEventClasses(this::isMember));
+	}
+
+	private boolean isMember(int busID) {
+		for (EventBus member : members) {
+			if (member.getBusID() == busID) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Freezes every member bus.
+	 */
+	@Override
+	public void freeze() {
+		for (EventBus member : members) {
+			member.freeze();
+		}
+	}
+
+	/**
+	 * @return true if every member bus is frozen
+	 */
+	@Override
+	public boolean isFrozen() {
+		for (EventBus member : members) {
+			if (!member.isFrozen()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Creates a scope inheriting the listeners of every member bus.
+	 */
+	@Override
+	public IScopedEventBus createScope() {
+		return new ScopedEventBus(members, exceptionHandler);
+	}
+
+	@Override
+	public void registerInGroup(ListenerGroup group, Consumer<? super IEventBus> registration) {
+		primary.registerInGroup(group, bus -> registration.accept(this));
+	}
+
+	/**
+	 * Toggles the group on every member bus.
+	 */
+	@Override
+	public void setGroupEnabled(ListenerGroup group, boolean enabled) {
+		for (EventBus member : members) {
+			member.setGroupEnabled(group, enabled);
+		}
+	}
+
+	/**
+	 * @return true if the group is enabled on every member bus
+	 */
+	@Override
+	public boolean isGroupEnabled(ListenerGroup group) {
+		for (EventBus member : members) {
+			if (!member.isGroupEnabled(group)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns a channel firing the listeners of every member in priority order, and in member order within a priority,
+	 * as events are. Listeners added to it are added to the channel of the member that listeners registered through
+	 * this bus are added to.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public <S extends ISignal> S getSignal(SignalKey<S> key) {
+		ISignal signal = signals.get(key);
+
+		if (signal == null) {
+			signal = signals.computeIfAbsent(key, this::createSignal);
+		}
+
+		return (S) signal;
+	}
+
+	private ISignal createSignal(SignalKey<?> key) {
+		final SignalChannel[] channels = new SignalChannel[members.length];
+
+		for (int x = 0; x < members.length; x++) {
+			channels[x] = (SignalChannel) members[x].getSignal(key);
+		}
+
+		return SignalChannel.createComposite(this, key, channels, (SignalChannel) primary.getSignal(key));
+	}
+
+	/**
+	 * Drains the deferred posts of every member in turn, sharing the budget between them.
+	 */
+	@Override
+	public int drain(long budgetNanos) {
+		final long deadline = System.nanoTime() + budgetNanos;
+		int pending = 0;
+
+		for (EventBus member : members) {
+			pending += member.drain(Math.max(0, deadline - System.nanoTime()));
+		}
+
+		return pending;
+	}
+
+	/**
+	 * @return The deferral stats of every member added up
+	 */
+	@Override
+	public DeferralStats getDeferralStats() {
+		DeferralStats stats = DeferralStats.EMPTY;
+
+		for (EventBus member : members) {
+			stats = stats.plus(member.getDeferralStats());
+		}
+
+		return stats;
+	}
+
+	/**
+	 * Shuts down this composite bus. The member buses keep running.
+	 */
+	@Override
+	public void shutdown() {
+		LOGGER.fatal(EVENTBUS, "Composite EventBus shutting down - future events will not be posted.", new Exception("stacktrace"));
+		this.shutdown = true;
+	}
+
+	@Override
+	public void start() {
+		this.shutdown = false;
+	}
+
+	boolean isShutdown() {
+		return shutdown;
+	}
+
+	/**
+	 * Stops posting without logging, for buses that are shut down as part of their normal life cycle.
+	 */
+	void stop() {
+		this.shutdown = true;
+	}
+
+	private static final class MergedCache {
+		private volatile Merged merged;
+	}
+
+	/**
+	 * A merged dispatch array, along with the member snapshots it was built from.
+	 */
+	private final class Merged {
+		private final ListenerList.Snapshot[] sources;
+		private final IEventListener[] listeners;
+
+		private Merged(ListenerList listenerList) {
+			sources = new ListenerList.Snapshot[members.length];
+
+			for (int x = 0; x < members.length; x++) {
+				sources[x] = getSource(listenerList, members[x]);
+			}
+
+			listeners = ListenerList.merge(sources);
+		}
+
+		private boolean isCurrent(ListenerList listenerList) {
+			for (int x = 0; x < members.length; x++) {
+				if (sources[x] != getSource(listenerList, members[x])) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		private ListenerList.Snapshot getSource(ListenerList listenerList, EventBus member) {
+			return member.isShutdown() ? null : listenerList.getSnapshot(member.getBusID());
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Minecraft Forge
+ * Copyright (c) 2016.
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation version 2.1
+ * of the License.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301  USA
+ */
+
+package net.minecraftforge.eventbus;
+
+import java.lang.reflect.Type;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import javax.annotation.Nullable;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IEventListener;
+import net.minecraftforge.eventbus.api.IGenericEvent;
+
+/**
+ * Wraps a {@link Consumer} added to an {@link EventBus}, keeping its filters as plain fields so that
+ * {@link ListenerList} can inspect them when building snapshots.
+ *
+ * <p>Keyed listeners check their key themselves when invoked directly, but snapshots that index
+ * them by key dispatch through {@link #getKeyMatched()} instead so the key is only extracted once per post.
+ */
+final class ConsumerListener implements IEventListener {
+	private final Consumer<Event> consumer;
+	private final boolean receiveCancelled;
+	@Nullable
+	private final Type genericFilter;
+	@Nullable
+	private final Function<Event, ?> keyExtractor;
+	@Nullable
+	private final Object key;
+	@Nullable
+	private final IEventListener keyMatched;
+
+	@SuppressWarnings("unchecked")
+	ConsumerListener(final Consumer<? extends Event> consumer, final boolean receiveCancelled, @Nullable final Type genericFilter,
+			@Nullable final Function<?, ?> keyExtractor, @Nullable final Object key) {
+		this.consumer = (Consumer<Event>) consumer;
+		this.receiveCancelled = receiveCancelled;
+		this.genericFilter = genericFilter;
+		this.keyExtractor = (Function<Event, ?>) keyExtractor;
+		this.key = key;
+		this.keyMatched = keyExtractor == null ? null : new KeyMatched();
+	}
+
+	/**
+	 * @return A listener with the same filters, passing matching events to the consumer returned by the given function
+	 */
+	ConsumerListener withConsumer(Function<Consumer<Event>, Consumer<Event>> wrapper) {
+		return new ConsumerListener(wrapper.apply(consumer), receiveCancelled, genericFilter, keyExtractor, key);
+	}
+
+	/**
+	 * @return The generic type this listener is filtered for, or null if it isn't a generic listener
+	 */
+	@Nullable
+	Type getGenericFilter() {
+		return genericFilter;
+	}
+
+	/**
+	 * @return The function extracting the key this listener is subscribed to, or null if it isn't a keyed listener
+	 */
+	@Nullable
+	Function<Event, ?> getKeyExtractor() {
+		return keyExtractor;
+	}
+
+	@Nullable
+	Object getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns a listener that skips the key check of this listener, for use in dispatch arrays that were already
+	 * selected by the key of the event.
+	 */
+	IEventListener getKeyMatched() {
+		return keyMatched == null ? this : keyMatched;
+	}
+
+	@Override
+	public void invoke(Event event) {
+		if (keyExtractor != null && !key.equals(keyExtractor.apply(event))) {
+			return;
+		}
+
+		invokeMatched(event);
+	}
+
+	private void invokeMatched(Event event) {
+		if (genericFilter != null && ((IGenericEvent<?>) event).getGenericType() != genericFilter) {
+			return;
+		}
+
+		if (!receiveCancelled && event.isCancelable() && event.isCanceled()) {
+			return;
+		}
+
+		consumer.accept(event);
+	}
+
+	@Override
+	public String toString() {
+		return consumer.toString();
+	}
+
+	private final class KeyMatched implements IEventListener {
+		@Override
+		public void invoke(Event event) {
+			invokeMatched(event);
+		}
+
+		@Override
+		public String toString() {
+			return ConsumerListener.this.toString();
+		}
+	}
+}
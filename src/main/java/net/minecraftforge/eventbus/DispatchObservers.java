@@ -0,0 +1,228 @@
+package net.minecraftforge.eventbus;
+
+import java.util.Arrays;
+
+import javax.annotation.Nullable;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventListener;
+
+/**
+ * Selects the {@link IDispatchObserver} of each bus, adding the built-in JDK Flight Recorder observer on runtimes
+ * that support it.
+ */
+final class DispatchObservers {
+	/**
+	 * Set to false to keep buses from emitting JDK Flight Recorder events.
+	 */
+	static final String JFR_PROPERTY = "eventbus.jfr";
+	private static final String JFR_OBSERVER = "net.minecraftforge.eventbus.jfr.JfrDispatchObserver";
+
+	@Nullable
+	private static final IDispatchObserver FLIGHT_RECORDER = loadFlightRecorder();
+
+	private DispatchObservers() {
+	}
+
+	/**
+	 * Loads the flight recorder observer, which lives in classes compiled for Java 11 and is only
+	 * loaded after checking that the runtime has the {@code jdk.jfr} module.
+	 */
+	@Nullable
+	private static IDispatchObserver loadFlightRecorder() {
+		if (!Boolean.parseBoolean(System.getProperty(JFR_PROPERTY, "true"))) {
+			return null;
+		}
+
+		try {
+			Class.forName("jdk.jfr.FlightRecorder", false, DispatchObservers.class.getClassLoader());
+			return (IDispatchObserver) Class.forName(JFR_OBSERVER).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the observer a new bus should use.
+	 *
+	 * @param observer The observer configured for the bus, if any
+	 */
+	@Nullable
+	static IDispatchObserver forBus(@Nullable IDispatchObserver observer) {
+		if (FLIGHT_RECORDER == null) {
+			return observer;
+		}
+
+		return observer == null ? FLIGHT_RECORDER : new Composite(observer, FLIGHT_RECORDER);
+	}
+
+	/**
+	 * Notifies two observers, each only about the posts it was enabled for when they started. The members notified
+	 * by a start callback are kept on a per-thread stack until the matching finish callback, so that every member
+	 * sees the callbacks in pairs even if it is enabled or disabled during a post.
+	 */
+	private static final class Composite implements IDispatchObserver {
+		private static final int FIRST = 1;
+		private static final int SECOND = 1 << 1;
+		private static final int FIRST_LISTENERS = 1 << 2;
+		private static final int SECOND_LISTENERS = 1 << 3;
+		private static final int LISTENERS = FIRST_LISTENERS | SECOND_LISTENERS;
+
+		private final IDispatchObserver first;
+		private final IDispatchObserver second;
+		private final ThreadLocal<MaskStack> notified = ThreadLocal.withInitial(MaskStack::new);
+
+		private Composite(IDispatchObserver first, IDispatchObserver second) {
+			this.first = first;
+			this.second = second;
+		}
+
+		/**
+		 * @return The members that are enabled, and the ones of them observing listeners, right now
+		 */
+		private int enabledMask() {
+			int mask = 0;
+
+			if (first.isEnabled()) {
+				mask |= first.observesListeners() ? FIRST | FIRST_LISTENERS : FIRST;
+			}
+
+			if (second.isEnabled()) {
+				mask |= second.observesListeners() ? SECOND | SECOND_LISTENERS : SECOND;
+			}
+
+			return mask;
+		}
+
+		/**
+		 * @return The members notified about the innermost post of the current thread, or the enabled ones outside of
+		 * any post, such as while draining deferred posts
+		 */
+		private int currentMask() {
+			final MaskStack stack = notified.get();
+			return stack.isEmpty() ? enabledMask() : stack.peek();
+		}
+
+		@Override
+		public boolean isEnabled() {
+			return first.isEnabled() || second.isEnabled();
+		}
+
+		@Override
+		public boolean observesListeners() {
+			return (currentMask() & LISTENERS) != 0;
+		}
+
+		@Override
+		public void onPostStarted(int busID, Event event, int listenerCount) {
+			final int mask = enabledMask();
+
+			if ((mask & FIRST) != 0) {
+				first.onPostStarted(busID, event, listenerCount);
+			}
+
+			if ((mask & SECOND) != 0) {
+				second.onPostStarted(busID, event, listenerCount);
+			}
+
+			// Only once started, as the bus doesn't call the finish callback if a start callback throws
+			notified.get().push(mask);
+		}
+
+		@Override
+		public void onListenerStarted(int busID, Event event, IEventListener listener) {
+			final int mask = currentMask() & LISTENERS;
+
+			if ((mask & FIRST_LISTENERS) != 0) {
+				first.onListenerStarted(busID, event, listener);
+			}
+
+			if ((mask & SECOND_LISTENERS) != 0) {
+				second.onListenerStarted(busID, event, listener);
+			}
+
+			notified.get().push(mask);
+		}
+
+		@Override
+		public void onListenerFinished(int busID, Event event, IEventListener listener) {
+			final int mask = notified.get().pop();
+
+			if ((mask & SECOND_LISTENERS) != 0) {
+				second.onListenerFinished(busID, event, listener);
+			}
+
+			if ((mask & FIRST_LISTENERS) != 0) {
+				first.onListenerFinished(busID, event, listener);
+			}
+		}
+
+		@Override
+		public void onPostDeferred(int busID, Event event) {
+			final int mask = currentMask();
+
+			if ((mask & SECOND) != 0) {
+				second.onPostDeferred(busID, event);
+			}
+
+			if ((mask & FIRST) != 0) {
+				first.onPostDeferred(busID, event);
+			}
+		}
+
+		@Override
+		public void onDeferredFinished(int busID, Event event, long dispatchNanos, boolean cancelled) {
+			final int mask = enabledMask();
+
+			if ((mask & SECOND) != 0) {
+				second.onDeferredFinished(busID, event, dispatchNanos, cancelled);
+			}
+
+			if ((mask & FIRST) != 0) {
+				first.onDeferredFinished(busID, event, dispatchNanos, cancelled);
+			}
+		}
+
+		@Override
+		public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+			final int mask = notified.get().pop();
+
+			if ((mask & SECOND) != 0) {
+				second.onPostFinished(busID, event, listenerCount, dispatchNanos, cancelled);
+			}
+
+			if ((mask & FIRST) != 0) {
+				first.onPostFinished(busID, event, listenerCount, dispatchNanos, cancelled);
+			}
+		}
+	}
+
+	/**
+	 * A growable stack of ints, so that pushing doesn't box once it is large enough for the deepest nesting.
+	 */
+	private static final class MaskStack {
+		private int[] masks = new int[8];
+		private int size;
+
+		private boolean isEmpty() {
+			return size == 0;
+		}
+
+		private int peek() {
+			return masks[size - 1];
+		}
+
+		private void push(int mask) {
+			if (size == masks.length) {
+				masks = Arrays.copyOf(masks, size * 2);
+			}
+
+			masks[size++] = mask;
+		}
+
+		private int pop() {
+			return masks[--size];
+		}
+	}
+}
@@ -19,25 +19,52 @@
 
 package net.minecraftforge.eventbus;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
 
 import net.jodah.typetools.TypeResolver;
 import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.DeferralStats;
 import net.minecraftforge.eventbus.api.Event;
 import net.minecraftforge.eventbus.api.EventListenerHelper;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
 import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.eventbus.api.IEventExceptionHandler;
 import net.minecraftforge.eventbus.api.IEventListener;
+import net.minecraftforge.eventbus.api.IGenericEvent;
+import net.minecraftforge.eventbus.api.IScopedEventBus;
+import net.minecraftforge.eventbus.api.ListenerGroup;
+import net.minecraftforge.eventbus.api.ISignal;
+import net.minecraftforge.eventbus.api.ListenerThrottle;
+import net.minecraftforge.eventbus.api.SignalKey;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
@@ -48,20 +75,46 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 	private static final Marker EVENTBUS = MarkerManager.getMarker("EVENTBUS");
 
 	private static AtomicInteger maxID = new AtomicInteger(0);
+	// IDs of closed scopes, reused so that the per-bus arrays of the listener lists don't keep growing
+	private static final Queue<Integer> releasedIDs = new ConcurrentLinkedQueue<>();
 	private final boolean trackPhases;
-	private final int busID = maxID.getAndIncrement();
+	private final int busID;
 	private final IEventExceptionHandler exceptionHandler;
-	private ConcurrentHashMap<Object, List<IEventListener>> listeners = new ConcurrentHashMap<>();
+	private ConcurrentHashMap<Object, List<Registration>> listeners = new ConcurrentHashMap<>();
+	@Nullable
+	private final IDispatchObserver observer;
+	private final ReferenceQueue<Object> collectedOwners = new ReferenceQueue<>();
+	private volatile boolean hasWeakListeners = false;
+	private volatile boolean frozen = false;
+	// Read locked while listeners are added or removed and write locked by freeze, so that no change lands in between
+	// checking that the bus isn't frozen and pinning the snapshots
+	private final ReadWriteLock registrationLock = new ReentrantReadWriteLock();
+	private volatile boolean released = false;
 	private volatile boolean shutdown = false;
+	// Nanoseconds a post of a deferrable event may take, 0 if they are never deferred
+	private final long deferralBudget;
+	private final Deque<Deferred> deferred = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger pendingDeferred = new AtomicInteger();
+	private final LongAdder deferredPosts = new LongAdder();
+	private final LongAdder completedDeferred = new LongAdder();
+	private final LongAdder deferralNanos = new LongAdder();
+	private final AtomicLong maxDeferralNanos = new AtomicLong();
+	private final ConcurrentHashMap<SignalKey<?>, SignalChannel> signals = new ConcurrentHashMap<>();
+	// One bit per disabled ListenerGroup, read by the grouped listeners themselves
+	private final AtomicLong disabledGroups = new AtomicLong();
+	// The groups that listeners added on the current thread join, set while inside registerInGroup
+	private final ThreadLocal<Long> registeringGroups = new ThreadLocal<>();
 
 	private EventBus() {
-		ListenerList.resize(busID + 1);
+		this.busID = maxID.getAndIncrement();
 		exceptionHandler = this;
 		this.trackPhases = true;
+		this.observer = DispatchObservers.forBus(null);
+		this.deferralBudget = 0;
 	}
 
-	private EventBus(final IEventExceptionHandler handler, boolean trackPhase, boolean startShutdown) {
-		ListenerList.resize(busID + 1);
+	private EventBus(final IEventExceptionHandler handler, boolean trackPhase, boolean startShutdown, @Nullable IDispatchObserver observer, long deferralBudget) {
+		this.busID = maxID.getAndIncrement();
 
 		if (handler == null) {
 			exceptionHandler = this;
@@ -71,10 +124,63 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 
 		this.trackPhases = trackPhase;
 		this.shutdown = startShutdown;
+		this.observer = DispatchObservers.forBus(observer);
+		this.deferralBudget = deferralBudget;
 	}
 
 	public EventBus(final BusBuilder busBuilder) {
-		this(busBuilder.getExceptionHandler(), busBuilder.getTrackPhases(), busBuilder.isStartingShutdown());
+		this(busBuilder.getExceptionHandler(), busBuilder.getTrackPhases(), busBuilder.isStartingShutdown(), busBuilder.getObserver(), busBuilder.getDeferralBudget());
+	}
+
+	private EventBus(final int busID, final EventBus settings) {
+		this.busID = busID;
+		this.exceptionHandler = settings.exceptionHandler;
+		this.trackPhases = settings.trackPhases;
+		this.observer = settings.observer;
+		this.deferralBudget = 0;
+	}
+
+	/**
+	 * Creates the bus holding the own listeners of a {@link ScopedEventBus}. It is only posted to through the scope,
+	 * and takes over the ID of a closed scope if there is one.
+	 *
+	 * @param settings The bus whose exception handler, phase tracking and observer the scope's posts go through
+	 */
+	static EventBus createScopeMember(EventBus settings) {
+		final Integer releasedID = releasedIDs.poll();
+		return new EventBus(releasedID == null ? maxID.getAndIncrement() : releasedID, settings);
+	}
+
+	/**
+	 * Removes the listeners of a scope member and hands its ID to the next scope. Only the lists the member added
+	 * listeners to are visited, unless it was frozen.
+	 */
+	void release() {
+		final Lock lock = registrationLock.writeLock();
+		lock.lock();
+
+		try {
+			if (released) {
+				return;
+			}
+
+			released = true;
+			shutdown = true;
+
+			if (frozen) {
+				ListenerList.clearBusID(busID);
+			} else {
+				final Map<ListenerList, Set<IEventListener>> removed = new IdentityHashMap<>();
+				listeners.values().forEach(list -> groupByList(list, removed));
+				removed.forEach((listenerList, listenersOfList) -> listenerList.unregisterAll(busID, listenersOfList));
+			}
+
+			listeners.clear();
+		} finally {
+			lock.unlock();
+		}
+
+		releasedIDs.add(busID);
 	}
 
 	private void registerClass(final Class<?> clazz) {
@@ -135,14 +241,6 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 		}
 	}
 
-	private <T extends Event> Predicate<T> passCancelled(final boolean ignored) {
-		return e -> ignored || !e.isCancelable() || !e.isCanceled();
-	}
-
-	private <T extends GenericEvent<? extends F>, F> Predicate<T> passGenericFilter(Class<F> type) {
-		return e -> e.getGenericType() == type;
-	}
-
 	@Override
 	public <T extends Event> void addListener(final Consumer<T> consumer) {
 		addListener(EventPriority.NORMAL, consumer);
@@ -155,12 +253,12 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 
 	@Override
 	public <T extends Event> void addListener(final EventPriority priority, final boolean receiveCancelled, final Consumer<T> consumer) {
-		addListener(priority, passCancelled(receiveCancelled), consumer);
+		addListener(priority, receiveCancelled, resolveEventClass(consumer), consumer);
 	}
 
 	@Override
 	public <T extends Event> void addListener(final EventPriority priority, final boolean receiveCancelled, final Class<T> eventType, final Consumer<T> consumer) {
-		addListener(priority, passCancelled(receiveCancelled), eventType, consumer);
+		addListener(priority, eventType, new ConsumerListener(consumer, receiveCancelled, null, null, null), consumer);
 	}
 
 	@Override
@@ -175,21 +273,146 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 
 	@Override
 	public <T extends GenericEvent<? extends F>, F> void addGenericListener(final Class<F> genericClassFilter, final EventPriority priority, final boolean receiveCancelled, final Consumer<T> consumer) {
-		addListener(priority, passGenericFilter(genericClassFilter).and(passCancelled(receiveCancelled)), consumer);
+		addGenericListener(genericClassFilter, priority, receiveCancelled, resolveEventClass(consumer), consumer);
 	}
 
 	@Override
 	public <T extends GenericEvent<? extends F>, F> void addGenericListener(final Class<F> genericClassFilter, final EventPriority priority, final boolean receiveCancelled, final Class<T> eventType, final Consumer<T> consumer) {
-		addListener(priority, passGenericFilter(genericClassFilter).and(passCancelled(receiveCancelled)), eventType, consumer);
+		addListener(priority, eventType, new ConsumerListener(consumer, receiveCancelled, genericClassFilter, null, null), consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(final Function<? super T, ? extends K> keyExtractor, final K key, final Consumer<T> consumer) {
+		addKeyedListener(keyExtractor, key, EventPriority.NORMAL, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(final Function<? super T, ? extends K> keyExtractor, final K key, final EventPriority priority, final Consumer<T> consumer) {
+		addKeyedListener(keyExtractor, key, priority, false, consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(final Function<? super T, ? extends K> keyExtractor, final K key, final EventPriority priority, final boolean receiveCancelled, final Consumer<T> consumer) {
+		addKeyedListener(keyExtractor, key, priority, receiveCancelled, resolveEventClass(consumer), consumer);
+	}
+
+	@Override
+	public <T extends Event, K> void addKeyedListener(final Function<? super T, ? extends K> keyExtractor, final K key, final EventPriority priority, final boolean receiveCancelled, final Class<T> eventType, final Consumer<T> consumer) {
+		Objects.requireNonNull(keyExtractor, "keyExtractor");
+		Objects.requireNonNull(key, "key");
+		addListener(priority, eventType, new ConsumerListener(consumer, receiveCancelled, null, keyExtractor, key), consumer);
 	}
 
+	@Override
+	public <O, T extends Event> void addWeakListener(final O owner, final BiConsumer<? super O, T> handler) {
+		addWeakListener(owner, EventPriority.NORMAL, handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(final O owner, final EventPriority priority, final BiConsumer<? super O, T> handler) {
+		addWeakListener(owner, priority, false, handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(final O owner, final EventPriority priority, final boolean receiveCancelled, final BiConsumer<? super O, T> handler) {
+		addWeakListener(owner, priority, receiveCancelled, resolveEventClass(TypeResolver.resolveRawArguments(BiConsumer.class, handler.getClass())[1], handler), handler);
+	}
+
+	@Override
+	public <O, T extends Event> void addWeakListener(final O owner, final EventPriority priority, final boolean receiveCancelled, final Class<T> eventType, final BiConsumer<? super O, T> handler) {
+		Objects.requireNonNull(owner, "owner");
+		purgeCollectedOwners();
+
+		// The owner keys its listeners through the same reference that the handler reads it from. If the owner
+		// already has weak listeners, the existing key is kept and this reference is only enqueued with it later.
+		final WeakOwner reference = new WeakOwner(owner, collectedOwners);
+		addListener(priority, eventType, new ConsumerListener(new WeakOwner.Handler<>(reference, handler), receiveCancelled, null, null, null), reference);
+		hasWeakListeners = true;
+	}
+
+	@Override
+	public <T extends Event> void addThrottledListener(final ListenerThrottle throttle, final Consumer<T> consumer) {
+		addThrottledListener(throttle, EventPriority.NORMAL, false, resolveEventClass(consumer), consumer);
+	}
+
+	@Override
+	public <T extends Event> void addThrottledListener(final ListenerThrottle throttle, final EventPriority priority, final boolean receiveCancelled, final Class<T> eventType, final Consumer<T> consumer) {
+		Objects.requireNonNull(throttle, "throttle");
+		addListener(priority, eventType, new ConsumerListener(new ThrottledConsumer<>(throttle, consumer), receiveCancelled, null, null, null), consumer);
+	}
+
+	@Override
+	public <I> void addInterfaceListener(final Class<I> interfaceType, final Consumer<? super I> consumer) {
+		addInterfaceListener(interfaceType, EventPriority.NORMAL, consumer);
+	}
+
+	@Override
+	public <I> void addInterfaceListener(final Class<I> interfaceType, final EventPriority priority, final Consumer<? super I> consumer) {
+		addInterfaceListener(interfaceType, priority, false, consumer);
+	}
+
+	@Override
 	@SuppressWarnings("unchecked")
-	private <T extends Event> void addListener(final EventPriority priority, final Predicate<? super T> filter, final Consumer<T> consumer) {
-		final Class<T> eventClass = (Class<T>) TypeResolver.resolveRawArgument(Consumer.class, consumer.getClass());
+	public <I> void addInterfaceListener(final Class<I> interfaceType, final EventPriority priority, final boolean receiveCancelled, final Consumer<? super I> consumer) {
+		if (!interfaceType.isInterface()) {
+			throw new IllegalArgumentException("Not an interface: " + interfaceType.getName() + ", use addListener for event classes");
+		}
+
+		// Only events implementing the interface are ever dispatched to it
+		addListener(priority, interfaceType, new ConsumerListener((Consumer<Event>) consumer, receiveCancelled, null, null, null), consumer);
+	}
+
+	/**
+	 * Removes the listeners of all weak owners that were collected since the last call, rebuilding each affected
+	 * listener list once no matter how many of its listeners went away.
+	 */
+	void purgeCollectedOwners() {
+		// Frozen tables keep the listeners of collected owners, which just skip the event
+		if (!hasWeakListeners || frozen) {
+			return;
+		}
+
+		Reference<?> reference = collectedOwners.poll();
+
+		if (reference == null) {
+			return;
+		}
+
+		final Map<ListenerList, Set<IEventListener>> collected = new IdentityHashMap<>();
+		final Lock lock = registrationLock.readLock();
+		lock.lock();
+
+		try {
+			// The bus may have been frozen since the check above
+			if (frozen) {
+				return;
+			}
+
+			for (; reference != null; reference = collectedOwners.poll()) {
+				List<Registration> list = listeners.remove(reference);
+
+				if (list != null) {
+					groupByList(list, collected);
+				}
+			}
+
+			collected.forEach((listenerList, removed) -> listenerList.unregisterAll(busID, removed));
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private <T extends Event> Class<T> resolveEventClass(final Consumer<T> consumer) {
+		return resolveEventClass(TypeResolver.resolveRawArgument(Consumer.class, consumer.getClass()), consumer);
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T extends Event> Class<T> resolveEventClass(final Class<?> resolved, final Object handler) {
+		final Class<T> eventClass = (Class<T>) resolved;
 
 		if ((Class<?>) eventClass == TypeResolver.Unknown.class) {
-			LOGGER.error(EVENTBUS, "Failed to resolve handler for \"{}\"", consumer);
-			throw new IllegalStateException("Failed to resolve consumer event type: " + consumer);
+			LOGGER.error(EVENTBUS, "Failed to resolve handler for \"{}\"", handler);
+			throw new IllegalStateException("Failed to resolve consumer event type: " + handler);
 		}
 
 		if (Objects.equals(eventClass, Event.class)) {
@@ -198,35 +421,58 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 					+ "the generic type information is erased and cannot be recovered at runtime.");
 		}
 
-		addListener(priority, filter, eventClass, consumer);
-	}
-
-	private <T extends Event> void addListener(final EventPriority priority, final Predicate<? super T> filter, final Class<T> eventClass, final Consumer<T> consumer) {
-		addListener(priority, filter, eventClass, consumer, consumer);
+		return eventClass;
 	}
 
-	private <T extends Event> void addListener(final EventPriority priority, final Predicate<? super T> filter, final Class<T> eventClass, final Consumer<T> consumer, final Object context) {
-		IEventListener listener = event -> doCastFilter(filter, consumer, event);
-
+	private void addListener(final EventPriority priority, final Class<?> eventClass, final ConsumerListener consumerListener, final Object context) {
+		final Long groups = registeringGroups.get();
+		final ConsumerListener listener = groups == null ? consumerListener : consumerListener.withConsumer(consumer -> new GroupedConsumer(disabledGroups, groups, consumer));
 		ListenerList listenerList = EventListenerHelper.getListenerList(eventClass);
-		listenerList.register(busID, priority, listener);
+		final Lock lock = registrationLock.readLock();
+		lock.lock();
 
-		List<IEventListener> others = listeners.computeIfAbsent(context, k -> Collections.synchronizedList(new ArrayList<>()));
-		others.add(listener);
-	}
+		try {
+			checkWritable();
+			listenerList.register(busID, priority, listener);
 
-	@SuppressWarnings("unchecked")
-	private <T extends Event> void doCastFilter(final Predicate<? super T> filter, final Consumer<T> consumer, final Event e) {
-		T cast = (T) e;
+			List<Registration> others = listeners.computeIfAbsent(context, k -> Collections.synchronizedList(new ArrayList<>()));
+			others.add(new Registration(listenerList, listener));
+		} finally {
+			lock.unlock();
+		}
+	}
 
-		if (filter.test(cast)) {
-			consumer.accept(cast);
+	/**
+	 * Sorts the listeners of a context by the list they were added to, so that each list can remove all of them in
+	 * one go without the other lists being visited.
+	 */
+	private static void groupByList(final List<Registration> registrations, final Map<ListenerList, Set<IEventListener>> grouped) {
+		synchronized (registrations) {
+			for (Registration registration : registrations) {
+				grouped.computeIfAbsent(registration.listenerList, k -> Collections.newSetFromMap(new IdentityHashMap<>())).add(registration.listener);
+			}
 		}
 	}
 
 	@Override
 	public void unregister(Object object) {
-		List<IEventListener> list = listeners.remove(object);
+		final Lock lock = registrationLock.readLock();
+		lock.lock();
+
+		try {
+			unregisterLocked(object);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void unregisterLocked(Object object) {
+		checkWritable();
+		List<Registration> list = listeners.remove(object);
+
+		if (list == null && hasWeakListeners) {
+			list = listeners.remove(new WeakOwner(object, null));
+		}
 
 		if (list == null) {
 			// ie, registered with registerObject / registerClass
@@ -238,9 +484,9 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 			return;
 		}
 
-		for (IEventListener listener : list) {
-			ListenerList.unregisterAll(busID, listener);
-		}
+		final Map<ListenerList, Set<IEventListener>> removed = new IdentityHashMap<>();
+		groupByList(list, removed);
+		removed.forEach((listenerList, listenersOfList) -> listenerList.unregisterAll(busID, listenersOfList));
 	}
 
 	@Override
@@ -249,7 +495,73 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 			return false;
 		}
 
-		IEventListener[] listeners = event.getListenerList().getListeners(busID);
+		purgeCollectedOwners();
+		IEventListener[] listeners = event.getListenerList().getListeners(busID, event);
+
+		return post(this, exceptionHandler, event, listeners, true);
+	}
+
+	/**
+	 * Dispatches an event to the given listeners with the observer, phase tracking and exception handler of this bus.
+	 * Composite buses post their merged listeners through the member their listeners are added to.
+	 *
+	 * @param source   The bus the event was posted on, passed to the exception handler
+	 * @param handler  The handler for exceptions thrown by the listeners
+	 * @param mayDefer If the listeners of deferrable events may be deferred, which needs them to be this bus' own
+	 * @return true if the event was {@link Event#isCanceled() cancelled}
+	 */
+	boolean post(final IEventBus source, final IEventExceptionHandler handler, final Event event, final IEventListener[] listeners, final boolean mayDefer) {
+		if (observer != null && observer.isEnabled()) {
+			return postObserved(source, handler, observer, event, listeners, mayDefer);
+		}
+
+		dispatch(source, handler, event, listeners, mayDefer, null);
+		return event.isCancelable() && event.isCanceled();
+	}
+
+	private boolean postObserved(final IEventBus source, final IEventExceptionHandler handler, final IDispatchObserver observer, final Event event, final IEventListener[] listeners, final boolean mayDefer) {
+		final int listenerCount = countListeners(listeners);
+		final long start = System.nanoTime();
+		boolean completed = false;
+		boolean deferred = false;
+
+		observer.onPostStarted(busID, event, listenerCount);
+
+		try {
+			deferred = dispatch(source, handler, event, listeners, mayDefer, observer.observesListeners() ? observer : null);
+			completed = true;
+		} finally {
+			if (deferred) {
+				observer.onPostDeferred(busID, event);
+			}
+
+			observer.onPostFinished(busID, event, listenerCount, System.nanoTime() - start, completed && event.isCancelable() && event.isCanceled());
+		}
+
+		return event.isCancelable() && event.isCanceled();
+	}
+
+	/**
+	 * @return If some of the listeners were deferred until the next {@link #drain(long)}
+	 */
+	private boolean dispatch(final IEventBus source, final IEventExceptionHandler handler, final Event event, final IEventListener[] listeners, final boolean mayDefer, @Nullable final IDispatchObserver listenerObserver) {
+		if (mayDefer && deferralBudget > 0 && event.isDeferrable()) {
+			final int stop = dispatchUntil(source, handler, event, listeners, 0, true, System.nanoTime() + deferralBudget, listenerObserver);
+
+			if (stop >= 0) {
+				deferred.addLast(new Deferred(event, listeners, stop));
+				pendingDeferred.incrementAndGet();
+				deferredPosts.increment();
+			}
+
+			return stop >= 0;
+		}
+
+		if (event.getShortCircuitPriority() != null) {
+			dispatchUntil(source, handler, event, listeners, 0, false, 0, listenerObserver);
+			return false;
+		}
+
 		int index = 0;
 
 		try {
@@ -258,14 +570,290 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 					continue;
 				}
 
-				listeners[index].invoke(event);
+				if (listenerObserver == null) {
+					listeners[index].invoke(event);
+				} else {
+					invokeObserved(listenerObserver, event, listeners[index]);
+				}
 			}
 		} catch (Throwable throwable) {
-			exceptionHandler.handleException(this, event, listeners, index, throwable);
+			handler.handleException(source, event, listeners, index, throwable);
 			throw throwable;
 		}
 
-		return event.isCancelable() && event.isCanceled();
+		return false;
+	}
+
+	/**
+	 * Invokes the listeners from the given index on, until the deadline has passed at the start of a priority band.
+	 * The band at the given index is always invoked, so that every call makes progress. Events with a
+	 * {@link Event#getShortCircuitPriority() short-circuit priority} stop early once their result is decisive.
+	 *
+	 * @param budgeted If the deadline applies, otherwise the listeners are only cut short by a decisive result
+	 * @return The index of the band to resume at, or -1 if every listener was invoked or the result was decided
+	 */
+	private int dispatchUntil(final IEventBus source, final IEventExceptionHandler handler, final Event event, final IEventListener[] listeners, final int start, final boolean budgeted, final long deadline, @Nullable final IDispatchObserver listenerObserver) {
+		final EventPriority decisiveFrom = event.getShortCircuitPriority();
+		boolean deciding = false;
+		int index = start;
+
+		try {
+			for (; index < listeners.length; index++) {
+				final IEventListener listener = listeners[index];
+
+				if (listener instanceof EventPriority) {
+					if (budgeted && index > start && System.nanoTime() - deadline >= 0) {
+						return index;
+					}
+
+					if (decisiveFrom != null && !deciding && ((EventPriority) listener).ordinal() >= decisiveFrom.ordinal()) {
+						deciding = true;
+
+						if (isDecided(event)) {
+							return -1;
+						}
+					}
+
+					if (!trackPhases) {
+						continue;
+					}
+				}
+
+				if (listenerObserver == null) {
+					listener.invoke(event);
+				} else {
+					invokeObserved(listenerObserver, event, listener);
+				}
+
+				if (deciding && isDecided(event)) {
+					return -1;
+				}
+			}
+		} catch (Throwable throwable) {
+			handler.handleException(source, event, listeners, index, throwable);
+			throw throwable;
+		}
+
+		return -1;
+	}
+
+	/**
+	 * @return If the result of the event is decisive, ending the dispatch of events with a short-circuit priority
+	 */
+	private static boolean isDecided(final Event event) {
+		return event.getResult() != Event.Result.DEFAULT;
+	}
+
+	@Override
+	public int drain(final long budgetNanos) {
+		if (shutdown) {
+			return pendingDeferred.get();
+		}
+
+		final long deadline = System.nanoTime() + budgetNanos;
+		Deferred next = deferred.pollFirst();
+
+		while (next != null) {
+			// Checked for every drained post, as it is for every post
+			final IDispatchObserver drainObserver = observer != null && observer.isEnabled() ? observer : null;
+			final long start = System.nanoTime();
+			boolean completed = false;
+			int stop = -1;
+
+			try {
+				stop = dispatchUntil(this, exceptionHandler, next.event, next.listeners, next.index, true, deadline,
+						drainObserver != null && drainObserver.observesListeners() ? drainObserver : null);
+				completed = true;
+			} finally {
+				next.dispatchNanos += System.nanoTime() - start;
+
+				if (stop >= 0) {
+					next.index = stop;
+					deferred.addFirst(next);
+				} else {
+					// Completed, or dropped because a listener threw
+					pendingDeferred.decrementAndGet();
+
+					if (drainObserver != null) {
+						drainObserver.onDeferredFinished(busID, next.event, next.dispatchNanos, completed && next.event.isCancelable() && next.event.isCanceled());
+					}
+				}
+			}
+
+			if (stop >= 0) {
+				break;
+			}
+
+			final long delay = System.nanoTime() - next.deferredAt;
+			completedDeferred.increment();
+			deferralNanos.add(delay);
+			maxDeferralNanos.accumulateAndGet(delay, Math::max);
+			next = System.nanoTime() - deadline < 0 ? deferred.pollFirst() : null;
+		}
+
+		return pendingDeferred.get();
+	}
+
+	@Override
+	public DeferralStats getDeferralStats() {
+		return new DeferralStats(deferredPosts.sum(), completedDeferred.sum(), pendingDeferred.get(), deferralNanos.sum(), maxDeferralNanos.get());
+	}
+
+	private void invokeObserved(final IDispatchObserver observer, final Event event, final IEventListener listener) {
+		if (listener instanceof EventPriority) {
+			listener.invoke(event);
+			return;
+		}
+
+		observer.onListenerStarted(busID, event, listener);
+
+		try {
+			listener.invoke(event);
+		} finally {
+			observer.onListenerFinished(busID, event, listener);
+		}
+	}
+
+	/**
+	 * Counts the listeners in a dispatch array, leaving out the phase markers.
+	 */
+	private static int countListeners(final IEventListener[] listeners) {
+		int count = 0;
+
+		for (IEventListener listener : listeners) {
+			if (!(listener instanceof EventPriority)) {
+				count++;
+			}
+		}
+
+		return count;
+	}
+
+	@Override
+	public boolean hasListeners(Class<? extends Event> eventType) {
+		return !shutdown && EventListenerHelper.getListenerList(eventType).hasListeners(busID);
+	}
+
+	@Override
+	public boolean hasListeners(Class<? extends Event> eventType, Type genericType) {
+		return !shutdown && EventListenerHelper.getListenerList(eventType).hasListeners(busID, genericType);
+	}
+
+	@Override
+	public <T extends Event> boolean post(Class<T> eventType, Supplier<? extends T> factory) {
+		return hasListeners(eventType) && post(factory.get());
+	}
+
+	@Override
+	public <T extends Event & IGenericEvent<?>> boolean post(Class<T> eventType, Type genericType, Supplier<? extends T> factory) {
+		return hasListeners(eventType, genericType) && post(factory.get());
+	}
+
+	@Override
+	public void prewarm(Collection<? extends Class<?>> eventTypes) {
+		if (shutdown) {
+			return;
+		}
+
+		eventTypes.parallelStream().forEach(eventType -> EventListenerHelper.getListenerList(eventType).getSnapshot(busID));
+	}
+
+	@Override
+	public void prewarm() {
+		prewarm(ListenerList.getEventClasses(id -> id == busID));
+	}
+
+	@Override
+	public void freeze() {
+		final Lock lock = registrationLock.writeLock();
+		lock.lock();
+
+		try {
+			if (frozen) {
+				return;
+			}
+
+			checkWritable();
+			purgeCollectedOwners();
+			ListenerList.freezeBusID(busID);
+			frozen = true;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return frozen;
+	}
+
+	IEventExceptionHandler getExceptionHandler() {
+		return exceptionHandler;
+	}
+
+	void checkWritable() {
+		if (released) {
+			throw new IllegalStateException("The scope of EventBus " + busID + " was closed");
+		}
+
+		if (frozen) {
+			throw new IllegalStateException("EventBus " + busID + " is frozen, its listeners can't be changed anymore");
+		}
+	}
+
+	@Override
+	public void registerInGroup(final ListenerGroup group, final Consumer<? super IEventBus> registration) {
+		final Long outer = registeringGroups.get();
+		registeringGroups.set(outer == null ? group.getMask() : outer | group.getMask());
+
+		try {
+			registration.accept(this);
+		} finally {
+			if (outer == null) {
+				registeringGroups.remove();
+			} else {
+				registeringGroups.set(outer);
+			}
+		}
+	}
+
+	@Override
+	public void setGroupEnabled(final ListenerGroup group, final boolean enabled) {
+		if (enabled) {
+			disabledGroups.getAndUpdate(mask -> mask & ~group.getMask());
+		} else {
+			disabledGroups.getAndUpdate(mask -> mask | group.getMask());
+		}
+	}
+
+	@Override
+	public boolean isGroupEnabled(final ListenerGroup group) {
+		return (disabledGroups.get() & group.getMask()) == 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <S extends ISignal> S getSignal(SignalKey<S> key) {
+		SignalChannel channel = signals.get(key);
+
+		if (channel == null) {
+			channel = signals.computeIfAbsent(key, k -> SignalChannel.create(this, k));
+		}
+
+		return (S) channel;
+	}
+
+	@Override
+	public IScopedEventBus createScope() {
+		return new ScopedEventBus(new EventBus[] {this}, exceptionHandler);
+	}
+
+	int getBusID() {
+		return busID;
+	}
+
+	boolean isShutdown() {
+		return shutdown;
 	}
 
 	@Override
@@ -283,4 +871,35 @@ public class EventBus implements IEventExceptionHandler, IEventBus {
 	public void start() {
 		this.shutdown = false;
 	}
+
+	/**
+	 * A post of a deferrable event that ran out of budget, along with where to resume its dispatch.
+	 */
+	private static final class Deferred {
+		private final Event event;
+		private final IEventListener[] listeners;
+		private final long deferredAt = System.nanoTime();
+		private int index;
+		// Time spent invoking the deferred listeners so far
+		private long dispatchNanos;
+
+		private Deferred(Event event, IEventListener[] listeners, int index) {
+			this.event = event;
+			this.listeners = listeners;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * A listener added by this bus, along with the list it was added to.
+	 */
+	private static final class Registration {
+		private final ListenerList listenerList;
+		private final IEventListener listener;
+
+		private Registration(ListenerList listenerList, IEventListener listener) {
+			this.listenerList = listenerList;
+			this.listener = listener;
+		}
+	}
 }
@@ -0,0 +1,297 @@
+package net.minecraftforge.eventbus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+
+/**
+ * Reports what the listener tables of the event buses hold and roughly how much heap they retain, per bus and
+ * event class.
+ *
+ * <p>Capturing a report reads the current state without building any dispatch table, so it is safe to call on a
+ * running server. Byte counts are estimates assuming compressed references, and arrays that a snapshot shares
+ * with the snapshot of its parent event class are only counted for the parent.
+ */
+public final class EventBusDiagnostics {
+	// Estimates, assuming a 12 byte object header and 4 byte references
+	private static final int HEADER_BYTES = 12;
+	private static final int ARRAY_HEADER_BYTES = 16;
+	private static final int FIELD_BYTES = 4;
+	static final long SEMAPHORE_BYTES = objectBytes(1) + objectBytes(5);
+	static final long LISTENER_BYTES = objectBytes(6);
+
+	private EventBusDiagnostics() {
+	}
+
+	/**
+	 * @return A report covering every bus
+	 */
+	public static Report capture() {
+		return capture(id -> true);
+	}
+
+	/**
+	 * @param bus The bus to report on. For composite and scoped buses, all of their member buses are reported
+	 * @return A report covering the given bus
+	 */
+	public static Report capture(IEventBus bus) {
+		final EventBus[] members;
+
+		if (bus instanceof EventBus) {
+			members = new EventBus[] {(EventBus) bus};
+		} else if (bus instanceof CompositeEventBus) {
+			members = ((CompositeEventBus) bus).getMembers();
+		} else {
+			throw new IllegalArgumentException("Unsupported bus: " + bus);
+		}
+
+		return capture(id -> {
+			for (EventBus member : members) {
+				if (member.getBusID() == id) {
+					return true;
+				}
+			}
+
+			return false;
+		});
+	}
+
+	private static Report capture(IntPredicate buses) {
+		final int listCount = ListenerList.getListCount();
+		final List<Entry> entries = new ArrayList<>();
+
+		ListenerList.describeAll(buses, entries);
+		entries.sort(Comparator.comparingInt(Entry::getBusID).thenComparing(Entry::getEventClass));
+		return new Report(listCount, entries);
+	}
+
+	static long objectBytes(int fields) {
+		return align(HEADER_BYTES + (long) fields * FIELD_BYTES);
+	}
+
+	static long arrayBytes(int length) {
+		return align(ARRAY_HEADER_BYTES + (long) length * FIELD_BYTES);
+	}
+
+	/**
+	 * Estimates a {@link java.util.HashMap} with the given number of entries, leaving out the keys and values.
+	 */
+	static long mapBytes(int size) {
+		int capacity = 16;
+
+		while (capacity * 3 / 4 < size) {
+			capacity <<= 1;
+		}
+
+		return objectBytes(6) + arrayBytes(capacity) + size * objectBytes(4);
+	}
+
+	private static long align(long bytes) {
+		return (bytes + 7) & ~7L;
+	}
+
+	static void appendString(Appendable out, String value) throws IOException {
+		out.append('"');
+
+		for (int x = 0; x < value.length(); x++) {
+			char c = value.charAt(x);
+
+			if (c == '"' || c == '\\') {
+				out.append('\\').append(c);
+			} else if (c < 0x20) {
+				out.append(String.format("\\u%04x", (int) c));
+			} else {
+				out.append(c);
+			}
+		}
+
+		out.append('"');
+	}
+
+	/**
+	 * A captured state of the listener tables.
+	 */
+	public static final class Report {
+		private final int listCount;
+		private final List<Entry> entries;
+
+		private Report(int listCount, List<Entry> entries) {
+			this.listCount = listCount;
+			this.entries = Collections.unmodifiableList(entries);
+		}
+
+		/**
+		 * @return The number of listener lists that exist, one per event class, for all buses
+		 */
+		public int getListenerListCount() {
+			return listCount;
+		}
+
+		/**
+		 * @return One entry per bus and event class that the bus has used, ordered by bus ID and event class name
+		 */
+		public List<Entry> getEntries() {
+			return entries;
+		}
+
+		/**
+		 * @return The number of dispatch arrays currently cached by the reported buses
+		 */
+		public int getSnapshotCount() {
+			return (int) entries.stream().filter(entry -> entry.getSnapshotSize() >= 0).count();
+		}
+
+		/**
+		 * @return The estimated heap retained by the reported buses' listener tables
+		 */
+		public long getEstimatedBytes() {
+			return entries.stream().mapToLong(Entry::getEstimatedBytes).sum();
+		}
+
+		/**
+		 * Writes this report as a JSON object.
+		 *
+		 * @param out Where to write to
+		 * @throws IOException If writing fails
+		 */
+		public void writeJson(Appendable out) throws IOException {
+			out.append("{\"listenerLists\":").append(Integer.toString(listCount))
+					.append(",\"instances\":").append(Integer.toString(entries.size()))
+					.append(",\"snapshots\":").append(Integer.toString(getSnapshotCount()))
+					.append(",\"estimatedBytes\":").append(Long.toString(getEstimatedBytes()))
+					.append(",\"entries\":[");
+
+			for (int x = 0; x < entries.size(); x++) {
+				if (x > 0) {
+					out.append(',');
+				}
+
+				entries.get(x).writeJson(out);
+			}
+
+			out.append("]}");
+		}
+
+		/**
+		 * @return This report as a JSON object
+		 */
+		public String toJson() {
+			final StringBuilder ret = new StringBuilder();
+
+			try {
+				writeJson(ret);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+
+			return ret.toString();
+		}
+
+		@Override
+		public String toString() {
+			return toJson();
+		}
+	}
+
+	/**
+	 * The listener table of one event class on one bus.
+	 */
+	public static final class Entry {
+		private final int busID;
+		private final String eventClass;
+		private final int[] listenerCounts;
+		private final int snapshotSize;
+		private final int rebuilds;
+		private final boolean frozen;
+		private final long estimatedBytes;
+
+		Entry(int busID, String eventClass, int[] listenerCounts, int snapshotSize, int rebuilds, boolean frozen, long estimatedBytes) {
+			this.busID = busID;
+			this.eventClass = eventClass;
+			this.listenerCounts = listenerCounts;
+			this.snapshotSize = snapshotSize;
+			this.rebuilds = rebuilds;
+			this.frozen = frozen;
+			this.estimatedBytes = estimatedBytes;
+		}
+
+		public int getBusID() {
+			return busID;
+		}
+
+		public String getEventClass() {
+			return eventClass;
+		}
+
+		/**
+		 * @return The number of listeners registered for exactly this event class with the given priority, leaving
+		 * out the ones inherited from parent event classes
+		 */
+		public int getListenerCount(EventPriority priority) {
+			return listenerCounts[priority.ordinal()];
+		}
+
+		/**
+		 * @return The number of listeners registered for exactly this event class
+		 */
+		public int getListenerCount() {
+			int count = 0;
+
+			for (int priorityCount : listenerCounts) {
+				count += priorityCount;
+			}
+
+			return count;
+		}
+
+		/**
+		 * @return The length of the cached dispatch array including inherited listeners and phase markers, or -1 if
+		 * it hasn't been built since the listeners last changed
+		 */
+		public int getSnapshotSize() {
+			return snapshotSize;
+		}
+
+		/**
+		 * @return How many times the dispatch array was rebuilt
+		 */
+		public int getRebuilds() {
+			return rebuilds;
+		}
+
+		public boolean isFrozen() {
+			return frozen;
+		}
+
+		public long getEstimatedBytes() {
+			return estimatedBytes;
+		}
+
+		private void writeJson(Appendable out) throws IOException {
+			out.append("{\"bus\":").append(Integer.toString(busID)).append(",\"event\":");
+			appendString(out, eventClass);
+			out.append(",\"listeners\":{");
+
+			for (EventPriority priority : EventPriority.values()) {
+				if (priority.ordinal() > 0) {
+					out.append(',');
+				}
+
+				out.append('"').append(priority.name()).append("\":").append(Integer.toString(listenerCounts[priority.ordinal()]));
+			}
+
+			out.append("},\"snapshotSize\":").append(Integer.toString(snapshotSize))
+					.append(",\"rebuilds\":").append(Integer.toString(rebuilds))
+					.append(",\"frozen\":").append(Boolean.toString(frozen))
+					.append(",\"estimatedBytes\":").append(Long.toString(estimatedBytes))
+					.append('}');
+		}
+	}
+}
@@ -0,0 +1,214 @@
+package net.minecraftforge.eventbus;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+
+/**
+ * Records every post of the buses it is {@link BusBuilder#setObserver set on} into a memory-mapped ring file,
+ * so the event load of a running server can be inspected or replayed later with {@link EventReplay}.
+ *
+ * <p>Each post is stored as a fixed size record holding its timestamp, event class ID, bus ID, listener count,
+ * dispatch time and cancelled state. Once the ring is full the oldest records are overwritten. Event class IDs
+ * are assigned on first sight and their names are appended to a {@code .classes} file next to the ring file.
+ * Classes of the same name share an ID, as the recording only refers to them by name.
+ *
+ * <p>Recording a post doesn't allocate, apart from the first post of each event class.
+ */
+public final class EventRecorder implements IDispatchObserver, Closeable {
+	static final int MAGIC = 0x45525243; // "ERRC"
+	static final int FORMAT_VERSION = 1;
+	static final int HEADER_SIZE = 64;
+	static final int RECORD_SIZE = 32;
+
+	// Header layout
+	static final int HEADER_MAGIC = 0;
+	static final int HEADER_VERSION = 4;
+	static final int HEADER_RECORD_SIZE = 8;
+	static final int HEADER_CAPACITY = 12;
+	static final int HEADER_COUNT = 16;
+	static final int HEADER_START_MILLIS = 24;
+
+	// Record layout
+	static final int RECORD_TIMESTAMP = 0;
+	static final int RECORD_CLASS_ID = 8;
+	static final int RECORD_BUS_ID = 12;
+	static final int RECORD_LISTENER_COUNT = 16;
+	static final int RECORD_CANCELLED = 20;
+	static final int RECORD_DISPATCH_NANOS = 24;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final Writer classes;
+	private final int capacity;
+	private final long startNanos = System.nanoTime();
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicInteger maxClassID = new AtomicInteger();
+	// Guarded by this, so that classes looked up by several threads at once are only written once
+	private final Map<String, Integer> classIDsByName = new HashMap<>();
+	// The count last written to the header, which only grows
+	private final AtomicLong publishedCount = new AtomicLong();
+	private volatile boolean closed = false;
+	private final ClassValue<Integer> classIDs = new ClassValue<Integer>() {
+		@Override
+		protected Integer computeValue(Class<?> type) {
+			return registerClass(type);
+		}
+	};
+
+	private EventRecorder(FileChannel channel, Writer classes, int capacity) throws IOException {
+		this.channel = channel;
+		this.classes = classes;
+		this.capacity = capacity;
+		this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+		this.buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+		buffer.putInt(HEADER_MAGIC, MAGIC);
+		buffer.putInt(HEADER_VERSION, FORMAT_VERSION);
+		buffer.putInt(HEADER_RECORD_SIZE, RECORD_SIZE);
+		buffer.putInt(HEADER_CAPACITY, capacity);
+		buffer.putLong(HEADER_COUNT, 0);
+		buffer.putLong(HEADER_START_MILLIS, System.currentTimeMillis());
+	}
+
+	/**
+	 * Creates a recorder writing to the given file, replacing any previous recording in it.
+	 *
+	 * @param path     The ring file to map
+	 * @param capacity The number of records kept before the oldest ones are overwritten
+	 * @return A new recorder, to be passed to {@link BusBuilder#setObserver}
+	 * @throws IOException If the ring or class file couldn't be created
+	 */
+	public static EventRecorder open(Path path, int capacity) throws IOException {
+		if (capacity <= 0 || capacity > (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE) {
+			throw new IllegalArgumentException("Capacity out of range: " + capacity);
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		Writer classes = null;
+
+		try {
+			classes = Files.newBufferedWriter(getClassesPath(path), StandardCharsets.UTF_8);
+			return new EventRecorder(channel, classes, capacity);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+
+			if (classes != null) {
+				classes.close();
+			}
+
+			throw e;
+		}
+	}
+
+	static Path getClassesPath(Path path) {
+		return Paths.get(path.toString() + ".classes");
+	}
+
+	private synchronized int registerClass(Class<?> type) {
+		// ClassValue may compute the ID of a class on several threads at once, only the first one assigns it
+		final Integer existing = classIDsByName.get(type.getName());
+
+		if (existing != null) {
+			return existing;
+		}
+
+		int id = maxClassID.getAndIncrement();
+
+		try {
+			classes.write(id + "\t" + type.getName() + "\n");
+			classes.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException("Failed to record event class " + type.getName(), e);
+		}
+
+		classIDsByName.put(type.getName(), id);
+		return id;
+	}
+
+	@Override
+	public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+		if (closed) {
+			return;
+		}
+
+		final long index = count.getAndIncrement();
+		final int position = HEADER_SIZE + (int) (index % capacity) * RECORD_SIZE;
+
+		buffer.putLong(position + RECORD_TIMESTAMP, System.nanoTime() - startNanos - dispatchNanos);
+		buffer.putInt(position + RECORD_CLASS_ID, classIDs.get(event.getClass()));
+		buffer.putInt(position + RECORD_BUS_ID, busID);
+		buffer.putInt(position + RECORD_LISTENER_COUNT, listenerCount);
+		buffer.putInt(position + RECORD_CANCELLED, cancelled ? 1 : 0);
+		buffer.putLong(position + RECORD_DISPATCH_NANOS, dispatchNanos);
+		publishCount(index + 1);
+	}
+
+	/**
+	 * Raises the count in the header to the given one, unless a post recorded later already raised it further.
+	 * Doesn't lock, so that recording doesn't make posting threads contend.
+	 */
+	private void publishCount(long recorded) {
+		long published = publishedCount.get();
+
+		while (published < recorded) {
+			if (publishedCount.compareAndSet(published, recorded)) {
+				long written = recorded;
+				buffer.putLong(HEADER_COUNT, written);
+
+				// A later post may have raised the count and written its header before this one, so the latest is
+				// written again until the header holds it
+				for (long latest = publishedCount.get(); latest != written; latest = publishedCount.get()) {
+					written = latest;
+					buffer.putLong(HEADER_COUNT, written);
+				}
+
+				return;
+			}
+
+			published = publishedCount.get();
+		}
+	}
+
+	/**
+	 * @return The number of posts recorded so far, including the ones that were overwritten
+	 */
+	public long getRecordCount() {
+		return count.get();
+	}
+
+	/**
+	 * Flushes the recording to disk and closes the files. Posts recorded afterwards are lost.
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		publishCount(count.get());
+		buffer.force();
+
+		try {
+			channel.close();
+		} finally {
+			synchronized (this) {
+				classes.close();
+			}
+		}
+	}
+}
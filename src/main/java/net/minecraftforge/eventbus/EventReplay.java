@@ -0,0 +1,315 @@
+package net.minecraftforge.eventbus;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IEventBus;
+
+/**
+ * Loads a recording written by {@link EventRecorder} and re-posts a synthetic stream with the same event class mix
+ * and timing against a bus, for capacity planning and for comparing dispatch changes under a realistic load.
+ *
+ * <p>The events themselves aren't recorded, so the caller supplies a factory creating a representative event
+ * for each recorded class name.
+ */
+public final class EventReplay {
+	private static final long SPIN_NANOS = 100_000;
+
+	private final long startMillis;
+	private final String[] classNames;
+	private final long[] timestamps;
+	private final int[] classIDs;
+	private final int[] busIDs;
+	private final int[] listenerCounts;
+	private final long[] dispatchNanos;
+	private final boolean[] cancelled;
+
+	private EventReplay(long startMillis, String[] classNames, ByteBuffer records, int size) {
+		this.startMillis = startMillis;
+		this.classNames = classNames;
+		this.timestamps = new long[size];
+		this.classIDs = new int[size];
+		this.busIDs = new int[size];
+		this.listenerCounts = new int[size];
+		this.dispatchNanos = new long[size];
+		this.cancelled = new boolean[size];
+
+		for (int x = 0; x < size; x++) {
+			int position = x * EventRecorder.RECORD_SIZE;
+			timestamps[x] = records.getLong(position + EventRecorder.RECORD_TIMESTAMP);
+			classIDs[x] = records.getInt(position + EventRecorder.RECORD_CLASS_ID);
+			busIDs[x] = records.getInt(position + EventRecorder.RECORD_BUS_ID);
+			listenerCounts[x] = records.getInt(position + EventRecorder.RECORD_LISTENER_COUNT);
+			cancelled[x] = records.getInt(position + EventRecorder.RECORD_CANCELLED) != 0;
+			dispatchNanos[x] = records.getLong(position + EventRecorder.RECORD_DISPATCH_NANOS);
+		}
+	}
+
+	/**
+	 * Loads a recording, oldest record first.
+	 *
+	 * @param path The ring file the recorder was opened with
+	 * @return The loaded recording
+	 * @throws IOException If the ring or class file couldn't be read, or isn't a recording
+	 */
+	public static EventReplay load(Path path) throws IOException {
+		final ByteBuffer ring;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ring = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		if (ring.limit() < EventRecorder.HEADER_SIZE || ring.getInt(EventRecorder.HEADER_MAGIC) != EventRecorder.MAGIC) {
+			throw new IOException("Not an event recording: " + path);
+		}
+
+		if (ring.getInt(EventRecorder.HEADER_VERSION) != EventRecorder.FORMAT_VERSION || ring.getInt(EventRecorder.HEADER_RECORD_SIZE) != EventRecorder.RECORD_SIZE) {
+			throw new IOException("Unsupported event recording format: " + path);
+		}
+
+		final int capacity = ring.getInt(EventRecorder.HEADER_CAPACITY);
+		final long count = ring.getLong(EventRecorder.HEADER_COUNT);
+		final int size = (int) Math.min(count, capacity);
+
+		// Unroll the ring so that the oldest record comes first
+		final ByteBuffer records = ByteBuffer.allocate(size * EventRecorder.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		final int oldest = count > capacity ? (int) (count % capacity) : 0;
+
+		for (int x = 0; x < size; x++) {
+			int position = EventRecorder.HEADER_SIZE + ((oldest + x) % capacity) * EventRecorder.RECORD_SIZE;
+			ByteBuffer record = ring.duplicate();
+			record.position(position).limit(position + EventRecorder.RECORD_SIZE);
+			records.put(record);
+		}
+
+		return new EventReplay(ring.getLong(EventRecorder.HEADER_START_MILLIS), readClassNames(path), records, size);
+	}
+
+	private static String[] readClassNames(Path path) throws IOException {
+		final List<String> lines = Files.readAllLines(EventRecorder.getClassesPath(path), StandardCharsets.UTF_8);
+		final Map<Integer, String> names = new HashMap<>();
+		int max = -1;
+
+		for (String line : lines) {
+			int tab = line.indexOf('\t');
+
+			if (tab < 0) {
+				continue;
+			}
+
+			int id = Integer.parseInt(line.substring(0, tab));
+			names.put(id, line.substring(tab + 1));
+			max = Math.max(max, id);
+		}
+
+		String[] ret = new String[max + 1];
+		names.forEach((id, name) -> ret[id] = name);
+		return ret;
+	}
+
+	/**
+	 * @return The wall clock time the recording started at, in milliseconds since the epoch
+	 */
+	public long getStartMillis() {
+		return startMillis;
+	}
+
+	/**
+	 * @return The number of loaded records
+	 */
+	public int size() {
+		return timestamps.length;
+	}
+
+	/**
+	 * @return The time between the first and last loaded post, in nanoseconds
+	 */
+	public long getDurationNanos() {
+		return timestamps.length == 0 ? 0 : timestamps[timestamps.length - 1] - timestamps[0];
+	}
+
+	/**
+	 * @return How many times each event class was posted, most frequent first
+	 */
+	public Map<String, Integer> getClassMix() {
+		final int[] counts = new int[Math.max(classNames.length, IntStream.of(classIDs).max().orElse(-1) + 1)];
+
+		for (int classID : classIDs) {
+			counts[classID]++;
+		}
+
+		final Map<String, Integer> ret = new LinkedHashMap<>();
+		IntStream.range(0, counts.length)
+				.filter(id -> counts[id] > 0)
+				.boxed()
+				.sorted((a, b) -> Integer.compare(counts[b], counts[a]))
+				.forEach(id -> ret.put(nameOf(id), counts[id]));
+		return ret;
+	}
+
+	private String nameOf(int classID) {
+		return classID < classNames.length && classNames[classID] != null ? classNames[classID] : "<unknown #" + classID + ">";
+	}
+
+	/**
+	 * @return The time the post of the record at the given index started at, in nanoseconds since the recording started
+	 */
+	public long getTimestamp(int index) {
+		return timestamps[index];
+	}
+
+	public String getClassName(int index) {
+		return nameOf(classIDs[index]);
+	}
+
+	public int getBusID(int index) {
+		return busIDs[index];
+	}
+
+	public int getListenerCount(int index) {
+		return listenerCounts[index];
+	}
+
+	public long getDispatchNanos(int index) {
+		return dispatchNanos[index];
+	}
+
+	public boolean isCancelled(int index) {
+		return cancelled[index];
+	}
+
+	/**
+	 * Posts one event per loaded record to the given bus, pacing the posts like the recording.
+	 *
+	 * @param bus     The bus to post to, regardless of which bus the records came from
+	 * @param factory Creates the event for a recorded class name, or returns null to skip records of that class
+	 * @param speed   How much faster than recorded to replay, or 0 to post as fast as possible
+	 * @return The statistics of the replay
+	 */
+	public Stats replay(IEventBus bus, Function<String, ? extends Event> factory, double speed) {
+		final Set<String> skipped = new HashSet<>();
+		final long start = System.nanoTime();
+		final long first = timestamps.length == 0 ? 0 : timestamps[0];
+		long posted = 0;
+		long skippedCount = 0;
+		long maxLag = 0;
+		long dispatch = 0;
+
+		for (int x = 0; x < timestamps.length; x++) {
+			final String className = nameOf(classIDs[x]);
+
+			if (skipped.contains(className)) {
+				skippedCount++;
+				continue;
+			}
+
+			final Event event = factory.apply(className);
+
+			if (event == null) {
+				skipped.add(className);
+				skippedCount++;
+				continue;
+			}
+
+			if (speed > 0) {
+				final long target = start + (long) ((timestamps[x] - first) / speed);
+				long now = System.nanoTime();
+
+				while (now < target) {
+					// Parking overshoots by tens of microseconds, so busy wait for the last stretch
+					if (target - now > SPIN_NANOS) {
+						LockSupport.parkNanos(target - now - SPIN_NANOS);
+					} else {
+						Platform.onSpinWait();
+					}
+
+					now = System.nanoTime();
+				}
+
+				maxLag = Math.max(maxLag, now - target);
+			}
+
+			final long postStart = System.nanoTime();
+			bus.post(event);
+			dispatch += System.nanoTime() - postStart;
+			posted++;
+		}
+
+		return new Stats(posted, skippedCount, System.nanoTime() - start, dispatch, maxLag);
+	}
+
+	/**
+	 * The outcome of a {@link #replay}.
+	 */
+	public static final class Stats {
+		private final long posted;
+		private final long skipped;
+		private final long elapsedNanos;
+		private final long dispatchNanos;
+		private final long maxLagNanos;
+
+		private Stats(long posted, long skipped, long elapsedNanos, long dispatchNanos, long maxLagNanos) {
+			this.posted = posted;
+			this.skipped = skipped;
+			this.elapsedNanos = elapsedNanos;
+			this.dispatchNanos = dispatchNanos;
+			this.maxLagNanos = maxLagNanos;
+		}
+
+		/**
+		 * @return The number of events posted
+		 */
+		public long getPosted() {
+			return posted;
+		}
+
+		/**
+		 * @return The number of records skipped because the factory returned null for their class
+		 */
+		public long getSkipped() {
+			return skipped;
+		}
+
+		/**
+		 * @return The wall clock duration of the replay
+		 */
+		public long getElapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/**
+		 * @return The total time spent inside {@link IEventBus#post(Event)}
+		 */
+		public long getDispatchNanos() {
+			return dispatchNanos;
+		}
+
+		/**
+		 * @return The largest delay of a post behind its recorded schedule, which grows once the bus can't keep up
+		 */
+		public long getMaxLagNanos() {
+			return maxLagNanos;
+		}
+
+		@Override
+		public String toString() {
+			return "posted=" + posted + ", skipped=" + skipped + ", elapsed=" + elapsedNanos + "ns, dispatch=" + dispatchNanos + "ns, maxLag=" + maxLagNanos + "ns";
+		}
+	}
+}
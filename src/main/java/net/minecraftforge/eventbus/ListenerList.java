@@ -19,24 +19,49 @@
 
 package net.minecraftforge.eventbus;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 
 import javax.annotation.Nullable;
 
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.IEventListener;
 
 public class ListenerList {
-	private static List<ListenerList> allLists = new ArrayList<>();
-	private static int maxSize = 0;
+	private static final EventPriority[] PRIORITIES = EventPriority.values();
+	private static final IEventListener[] NO_LISTENERS = new IEventListener[0];
+	// Weak, so that the lists of unloaded event classes are collected along with their classes and per-bus instances
+	private static final Queue<WeakReference<ListenerList>> allLists = new ConcurrentLinkedQueue<>();
+	private static final ReferenceQueue<ListenerList> collectedLists = new ReferenceQueue<>();
 
+	@Nullable
+	private final Class<?> eventClass;
 	@Nullable
 	private ListenerList parent;
-	private ListenerListInst[] lists = new ListenerListInst[0];
+	// The lists of the interfaces that the event class implements and its superclass doesn't, resolved on first use
+	@Nullable
+	private volatile ListenerList[] interfaceLists;
+	// Indexed by bus ID and replaced as a whole when an instance is added, so reads need no lock
+	private volatile ListenerListInst[] lists = new ListenerListInst[0];
 
 	public ListenerList() {
 		this(null);
@@ -45,137 +70,487 @@ public class ListenerList {
 	public ListenerList(
 			@Nullable
 			ListenerList parent) {
-		// parent needs to be set before resize !
+		this(null, parent);
+	}
+
+	/**
+	 * @param eventClass The event class or interface this list holds the listeners of. Lists of interfaces have no
+	 *                   parent, instead the lists of the event classes implementing them include their listeners.
+	 * @param parent     The list of the superclass
+	 */
+	public ListenerList(
+			@Nullable
+			Class<?> eventClass,
+			@Nullable
+			ListenerList parent) {
+		this.eventClass = eventClass;
 		this.parent = parent;
-		extendMasterList(this);
-		resizeLists(maxSize);
+		expungeCollectedLists();
+		allLists.add(new WeakReference<>(this, collectedLists));
 	}
 
-	private static synchronized void extendMasterList(ListenerList inst) {
-		allLists.add(inst);
+	private static void expungeCollectedLists() {
+		Reference<? extends ListenerList> collected;
+
+		while ((collected = collectedLists.poll()) != null) {
+			allLists.remove(collected);
+		}
 	}
 
-	static void resize(int max) {
-		if (max <= maxSize) {
-			return;
+	/**
+	 * Passes every list that wasn't collected yet to the given action.
+	 */
+	private static void forEachList(Consumer<ListenerList> action) {
+		for (WeakReference<ListenerList> reference : allLists) {
+			final ListenerList list = reference.get();
+
+			if (list != null) {
+				action.accept(list);
+			}
 		}
+	}
+
+	/**
+	 * Disposes the instances of the given bus and forgets them, so that a bus taking over the ID, such as the next
+	 * scope, gets new instances linked to the ones of its parent lists.
+	 */
+	public static void clearBusID(int id) {
+		forEachList(list -> list.removeInstance(id));
+	}
+
+	/**
+	 * Builds the snapshot of every list of the given bus and pins it, so reads no longer check whether it is
+	 * still current. Changing the listeners of a frozen list fails until the bus is cleared.
+	 *
+	 * <p>Lists created afterwards, for event classes that weren't loaded yet, aren't frozen.
+	 */
+	static void freezeBusID(int id) {
+		forEachList(list -> list.getInstance(id).freeze());
+	}
+
+	public static void unregisterAll(int id, IEventListener listener) {
+		forEachList(list -> {
+			ListenerListInst inst = list.getExistingInstance(id);
+
+			if (inst != null) {
+				inst.unregister(listener);
+			}
+		});
+	}
+
+	/**
+	 * Removes several listeners of a bus from this list at once, so that it changes at most once and its
+	 * snapshot is only rebuilt a single time.
+	 *
+	 * @param id        The bus the listeners were registered on
+	 * @param listeners The listeners to remove, compared by identity
+	 */
+	void unregisterAll(int id, Set<IEventListener> listeners) {
+		getInstance(id).unregisterAll(listeners);
+	}
+
+	/**
+	 * @param buses The IDs of the buses whose lists to return
+	 * @return The classes of the lists that weren't collected yet and that one of the given buses uses, leaving out
+	 * the ones not created through {@link EventListenerHelper}
+	 */
+	static List<Class<?>> getEventClasses(IntPredicate buses) {
+		final List<Class<?>> classes = new ArrayList<>();
+
+		forEachList(list -> {
+			if (list.eventClass != null && list.isUsedBy(buses)) {
+				classes.add(list.eventClass);
+			}
+		});
+
+		return classes;
+	}
+
+	/**
+	 * @return The number of lists that weren't collected yet, including the ones not created through {@link EventListenerHelper}
+	 */
+	static int getListCount() {
+		final int[] count = new int[1];
+		forEachList(list -> count[0]++);
+		return count[0];
+	}
+
+	/**
+	 * Describes the existing instances of every list of an event class whose bus matches the filter.
+	 */
+	static void describeAll(IntPredicate buses, List<EventBusDiagnostics.Entry> out) {
+		forEachList(list -> {
+			if (list.eventClass != null) {
+				list.describe(buses, out);
+			}
+		});
+	}
+
+	/**
+	 * Describes the existing instances of this list whose bus matches the filter, without building any snapshot.
+	 */
+	private void describe(IntPredicate buses, List<EventBusDiagnostics.Entry> out) {
+		final ListenerListInst[] lists = this.lists;
 
-		synchronized (ListenerList.class) {
-			allLists.forEach(list -> list.resizeLists(max));
+		for (int id = 0; id < lists.length; id++) {
+			if (lists[id] != null && buses.test(id)) {
+				out.add(lists[id].describe(eventClass, id));
+			}
 		}
+	}
 
-		maxSize = max;
+	/**
+	 * Returns the instance of the given bus, creating it on first use. Instances are created per list and per bus,
+	 * so buses and event classes that are set up concurrently never wait for each other.
+	 */
+	protected ListenerListInst getInstance(int id) {
+		final ListenerListInst inst = getExistingInstance(id);
+		return inst != null ? inst : createInstance(id);
 	}
 
-	public static synchronized void clearBusID(int id) {
-		for (ListenerList list : allLists) {
-			list.lists[id].dispose();
+	@Nullable
+	private ListenerListInst getExistingInstance(int id) {
+		final ListenerListInst[] lists = this.lists;
+		return id < lists.length ? lists[id] : null;
+	}
+
+	private synchronized ListenerListInst createInstance(int id) {
+		ListenerListInst inst = getExistingInstance(id);
+
+		if (inst != null) {
+			return inst;
 		}
+
+		// Locks the parent list after this one, never the other way around
+		inst = parent == null ? new ListenerListInst(id) : new ListenerListInst(id, parent.getInstance(id));
+		final ListenerListInst[] lists = Arrays.copyOf(this.lists, Math.max(this.lists.length, id + 1));
+		lists[id] = inst;
+		this.lists = lists;
+		return inst;
 	}
 
-	public static synchronized void unregisterAll(int id, IEventListener listener) {
-		for (ListenerList list : allLists) {
-			list.unregister(id, listener);
+	private synchronized void removeInstance(int id) {
+		final ListenerListInst inst = getExistingInstance(id);
+
+		if (inst == null) {
+			return;
 		}
+
+		inst.dispose();
+		final ListenerListInst[] lists = this.lists.clone();
+		lists[id] = null;
+		this.lists = lists;
+	}
+
+	public IEventListener[] getListeners(int id) {
+		return getInstance(id).getListeners();
+	}
+
+	/**
+	 * Returns the listeners that should be invoked when posting the given event on the given bus.
+	 *
+	 * <p>Unlike {@link #getListeners(int)}, keyed listeners whose key doesn't match the event are left out.
+	 */
+	public IEventListener[] getListeners(int id, Event event) {
+		return getInstance(id).getSnapshot().getListeners(event);
 	}
 
-	private synchronized void resizeLists(int max) {
-		if (parent != null) {
-			parent.resizeLists(max);
+	/**
+	 * Checks whether posting an event of this class on the given bus would reach any listener,
+	 * without building the event.
+	 */
+	public boolean hasListeners(int id) {
+		return getInstance(id).getSnapshot().hasListeners();
+	}
+
+	/**
+	 * Checks whether posting a generic event of this class and generic type on the given bus would reach any listener,
+	 * taking the generic type filters of the listeners into account.
+	 */
+	public boolean hasListeners(int id, Type genericType) {
+		return getInstance(id).getSnapshot().hasListeners(genericType);
+	}
+
+	/**
+	 * Returns the up to date snapshot of the given bus. Snapshots are replaced rather than modified when
+	 * listeners change, so callers can tell whether anything changed by comparing them by identity.
+	 */
+	Snapshot getSnapshot(int id) {
+		return getInstance(id).getSnapshot();
+	}
+
+	/**
+	 * Merges the snapshots of several buses into a single dispatch array. Each priority band holds the listeners
+	 * of every snapshot in the order given, so one pass dispatches to all of them.
+	 *
+	 * @param snapshots The snapshots to merge, null elements are skipped
+	 * @return The merged dispatch array
+	 */
+	static IEventListener[] merge(Snapshot[] snapshots) {
+		Snapshot only = null;
+		int nonEmpty = 0;
+
+		for (Snapshot snapshot : snapshots) {
+			if (snapshot != null && snapshot.hasListeners()) {
+				only = snapshot;
+				nonEmpty++;
+			}
 		}
 
-		if (lists.length >= max) {
-			return;
+		if (nonEmpty == 0) {
+			return NO_LISTENERS;
+		} else if (nonEmpty == 1) {
+			return only.listeners;
+		}
+
+		IEventListener[][] merged = new IEventListener[PRIORITIES.length][];
+
+		for (int x = 0; x < PRIORITIES.length; x++) {
+			int size = 0;
+
+			for (Snapshot snapshot : snapshots) {
+				size += snapshot == null ? 0 : snapshot.priorities[x].length;
+			}
+
+			IEventListener[] band = new IEventListener[size];
+			int index = 0;
+
+			for (Snapshot snapshot : snapshots) {
+				if (snapshot != null) {
+					System.arraycopy(snapshot.priorities[x], 0, band, index, snapshot.priorities[x].length);
+					index += snapshot.priorities[x].length;
+				}
+			}
+
+			merged[x] = band;
 		}
 
-		ListenerListInst[] newList = new ListenerListInst[max];
-		int x = 0;
+		return flatten(merged);
+	}
+
+	public void register(int id, EventPriority priority, IEventListener listener) {
+		getInstance(id).register(priority, listener);
+	}
 
-		for (; x < lists.length; x++) {
-			newList[x] = lists[x];
+	public void unregister(int id, IEventListener listener) {
+		getInstance(id).unregister(listener);
+	}
+
+	/**
+	 * Checks whether posting the event class of this list on one of the given buses may reach listeners: whether it
+	 * has an instance there, or the list of a superclass or implemented interface has listeners there. Instances
+	 * alone don't count for those, as one is created for every superclass of a used event class.
+	 */
+	private boolean isUsedBy(IntPredicate buses) {
+		if (hasInstance(buses, false)) {
+			return true;
 		}
 
-		for (; x < max; x++) {
-			if (parent != null) {
-				newList[x] = new ListenerListInst(parent.getInstance(x));
-			} else {
-				newList[x] = new ListenerListInst();
+		for (ListenerList list = this; list != null; list = list.parent) {
+			if (list != this && list.hasInstance(buses, true)) {
+				return true;
+			}
+
+			for (ListenerList interfaceList : list.getInterfaceLists()) {
+				if (interfaceList.hasInstance(buses, true)) {
+					return true;
+				}
 			}
 		}
 
-		lists = newList;
+		return false;
 	}
 
-	protected ListenerListInst getInstance(int id) {
-		return lists[id];
+	private boolean hasInstance(IntPredicate buses, boolean withListeners) {
+		final ListenerListInst[] lists = this.lists;
+
+		for (int id = 0; id < lists.length; id++) {
+			if (lists[id] != null && buses.test(id) && (!withListeners || lists[id].hasOwnListeners())) {
+				return true;
+			}
+		}
+
+		return false;
 	}
 
-	public IEventListener[] getListeners(int id) {
-		return lists[id].getListeners();
+	private boolean isInterfaceList() {
+		return eventClass != null && eventClass.isInterface();
 	}
 
-	public void register(int id, EventPriority priority, IEventListener listener) {
-		lists[id].register(priority, listener);
+	private ListenerList[] getInterfaceLists() {
+		ListenerList[] ret = interfaceLists;
+
+		if (ret == null) {
+			final Set<Class<?>> interfaces = new LinkedHashSet<>();
+
+			if (eventClass != null && !eventClass.isInterface()) {
+				collectInterfaces(eventClass, interfaces);
+				final Class<?> superclass = eventClass.getSuperclass();
+
+				// Listeners of interfaces the superclass implements already come with the parent snapshot
+				if (superclass != null) {
+					interfaces.removeIf(type -> type.isAssignableFrom(superclass));
+				}
+			}
+
+			ret = new ListenerList[interfaces.size()];
+			int index = 0;
+
+			for (Class<?> type : interfaces) {
+				ret[index++] = EventListenerHelper.getListenerList(type);
+			}
+
+			interfaceLists = ret;
+		}
+
+		return ret;
 	}
 
-	public void unregister(int id, IEventListener listener) {
-		lists[id].unregister(listener);
+	private static void collectInterfaces(Class<?> type, Set<Class<?>> out) {
+		for (Class<?> implemented : type.getInterfaces()) {
+			if (out.add(implemented)) {
+				collectInterfaces(implemented, out);
+			}
+		}
 	}
 
-	private class ListenerListInst {
-		private boolean rebuild = true;
-		private AtomicReference<IEventListener[]> listeners = new AtomicReference<>();
+	/**
+	 * Marks the lists of the given bus whose event class implements this interface as changed, so that they pick up
+	 * its listeners the next time they are read. This costs a pass over all lists, but only when interface
+	 * listeners change, posts keep relying on the version check they already do.
+	 */
+	private void invalidateImplementors(int id) {
+		forEachList(list -> {
+			if (list.eventClass != null && !list.eventClass.isInterface() && eventClass.isAssignableFrom(list.eventClass)) {
+				ListenerListInst inst = list.getExistingInstance(id);
+
+				if (inst != null) {
+					inst.invalidate();
+				}
+			}
+		});
+	}
+
+	private class ListenerListInst extends SnapshotSlot<Snapshot> {
+		private final int id;
 		private ArrayList<ArrayList<IEventListener>> priorities;
 		private ListenerListInst parent;
-		private List<ListenerListInst> children;
 		private Semaphore writeLock = new Semaphore(1, true);
+		// Only written when the bus is frozen or cleared, a stale null just sends readers down the validating path
+		@Nullable
+		private Snapshot frozen;
+		private int rebuilds;
 
-		private ListenerListInst() {
-			int count = EventPriority.values().length;
-			priorities = new ArrayList<>(count);
+		private ListenerListInst(int id) {
+			this.id = id;
+			priorities = new ArrayList<>(PRIORITIES.length);
 
-			for (int x = 0; x < count; x++) {
+			for (int x = 0; x < PRIORITIES.length; x++) {
 				priorities.add(new ArrayList<>());
 			}
 		}
 
-		private ListenerListInst(ListenerListInst parent) {
-			this();
+		private ListenerListInst(int id, ListenerListInst parent) {
+			this(id);
 			this.parent = parent;
-			this.parent.addChild(this);
 		}
 
 		public void dispose() {
 			writeLock.acquireUninterruptibly();
 			priorities.forEach(ArrayList::clear);
-			priorities.clear();
+			incrementVersion();
+			frozen = null;
 			writeLock.release();
 			parent = null;
-			listeners = null;
+		}
 
-			if (children != null) {
-				children.clear();
+		private void invalidate() {
+			writeLock.acquireUninterruptibly();
+			incrementVersion();
+			writeLock.release();
+		}
+
+		private void freeze() {
+			if (frozen == null) {
+				frozen = getSnapshot();
 			}
 		}
 
+		private boolean hasOwnListeners() {
+			writeLock.acquireUninterruptibly();
+
+			try {
+				for (ArrayList<IEventListener> local : priorities) {
+					if (!local.isEmpty()) {
+						return true;
+					}
+				}
+
+				return false;
+			} finally {
+				writeLock.release();
+			}
+		}
+
+		private EventBusDiagnostics.Entry describe(Class<?> eventClass, int id) {
+			final int[] counts = new int[PRIORITIES.length];
+			final int rebuilds;
+			long bytes = EventBusDiagnostics.objectBytes(6) + EventBusDiagnostics.SEMAPHORE_BYTES
+					+ EventBusDiagnostics.objectBytes(3) + EventBusDiagnostics.arrayBytes(PRIORITIES.length);
+
+			writeLock.acquireUninterruptibly();
+
+			try {
+				for (int x = 0; x < PRIORITIES.length; x++) {
+					ArrayList<IEventListener> local = priorities.get(x);
+					counts[x] = local.size();
+					// Lists hold their default capacity once anything was added
+					bytes += EventBusDiagnostics.objectBytes(3) + (local.isEmpty() ? 0 : EventBusDiagnostics.arrayBytes(Math.max(local.size(), 10)));
+					bytes += local.size() * EventBusDiagnostics.LISTENER_BYTES;
+				}
+
+				rebuilds = this.rebuilds;
+			} finally {
+				writeLock.release();
+			}
+
+			final Snapshot snapshot = getPublishedSnapshot();
+
+			if (snapshot != null) {
+				bytes += snapshot.estimateBytes();
+			}
+
+			final int snapshotSize = isCurrent(snapshot) ? snapshot.listeners.length : -1;
+			return new EventBusDiagnostics.Entry(id, eventClass.getName(), counts, snapshotSize, rebuilds, frozen != null, bytes);
+		}
+
 		/**
-		 * Returns a ArrayList containing all listeners for this event,
-		 * and all parent events for the specified priority.
-		 * <p>The list is returned with the listeners for the children events first.</p>
-		 *
-		 * @param priority The Priority to get
-		 * @return ArrayList containing listeners
+		 * Checks whether the given published snapshot is still the one {@link #getSnapshot()} returns, without
+		 * building any snapshot along the parent chain.
 		 */
-		public ArrayList<IEventListener> getListeners(EventPriority priority) {
-			writeLock.acquireUninterruptibly();
-			ArrayList<IEventListener> ret = new ArrayList<>(priorities.get(priority.ordinal()));
-			writeLock.release();
+		private boolean isCurrent(@Nullable Snapshot snapshot) {
+			if (snapshot == null) {
+				return false;
+			} else if (frozen != null) {
+				return true;
+			} else if (snapshot.version != getVersion()) {
+				return false;
+			}
+
+			final ListenerListInst parent = this.parent;
 
-			if (parent != null) {
-				ret.addAll(parent.getListeners(priority));
+			if (parent == null) {
+				return snapshot.parent == null;
 			}
 
-			return ret;
+			final Snapshot parentSnapshot = parent.getPublishedSnapshot();
+			return snapshot.parent == parentSnapshot && parent.isCurrent(parentSnapshot);
+		}
+
+		private void checkNotFrozen() {
+			if (frozen != null) {
+				throw new IllegalStateException("Listeners can't be changed after the bus was frozen");
+			}
 		}
 
 		/**
@@ -187,67 +562,402 @@ public class ListenerList {
 		 * @return Array containing listeners
 		 */
 		public IEventListener[] getListeners() {
-			if (shouldRebuild()) {
-				buildCache();
+			return getSnapshot().listeners;
+		}
+
+		/**
+		 * Returns the current snapshot of this list, rebuilding it first if either this list or one of its
+		 * parents has changed since it was built.
+		 *
+		 * <p>Only the lists along the parent chain of the posted event are ever rebuilt, and only when they are read.
+		 * Frozen lists return their pinned snapshot right away.
+		 *
+		 * @return The up to date snapshot
+		 */
+		private Snapshot getSnapshot() {
+			final Snapshot frozen = this.frozen;
+
+			if (frozen != null) {
+				return frozen;
 			}
 
-			return listeners.get();
-		}
+			final ListenerListInst parent = this.parent;
+			final Snapshot parentSnapshot = parent == null ? null : parent.getSnapshot();
+			final Snapshot current = getPublishedSnapshot();
+
+			if (current != null && current.version == getVersion() && current.parent == parentSnapshot) {
+				return current;
+			}
 
-		protected boolean shouldRebuild() {
-			return rebuild; // || (parent != null && parent.shouldRebuild());
+			return buildSnapshot(parentSnapshot);
 		}
 
-		protected void forceRebuild() {
-			this.rebuild = true;
+		/**
+		 * Builds a new snapshot by prepending the listeners of this list to the ones of the parent snapshot.
+		 * Priorities that have no local listeners share the parent's array instead of copying it.
+		 *
+		 * <p>The listeners of interfaces that the event class implements, and its superclass doesn't, follow the ones
+		 * of this list. They are read while holding the write lock of this list, so that an interface change either
+		 * shows up in this snapshot or bumps the version it is built for afterwards.
+		 *
+		 * <p>Threads building the same snapshot at once, as when prewarming, share the one built first, so that the
+		 * snapshots of subclasses built on it stay current.
+		 */
+		private Snapshot buildSnapshot(@Nullable Snapshot parentSnapshot) {
+			final IEventListener[][] merged = new IEventListener[PRIORITIES.length][];
+			final int builtVersion;
+			final Snapshot built;
+			boolean changed = parentSnapshot == null;
+
+			writeLock.acquireUninterruptibly();
+
+			try {
+				builtVersion = getVersion();
+				final Snapshot current = getPublishedSnapshot();
 
-			if (this.children != null) {
-				for (ListenerListInst child : this.children) {
-					child.forceRebuild();
+				// Built by another thread while this one waited for the lock
+				if (current != null && current.version == builtVersion && current.parent == parentSnapshot) {
+					return current;
 				}
+
+				rebuilds++;
+				final List<Snapshot> implemented = getInterfaceSnapshots();
+
+				for (int x = 0; x < PRIORITIES.length; x++) {
+					ArrayList<IEventListener> local = priorities.get(x);
+					IEventListener[] inherited = parentSnapshot == null ? NO_LISTENERS : parentSnapshot.priorities[x];
+					int size = local.size();
+
+					for (Snapshot snapshot : implemented) {
+						size += snapshot.priorities[x].length;
+					}
+
+					if (size == 0) {
+						merged[x] = inherited;
+					} else {
+						IEventListener[] combined = local.toArray(new IEventListener[size + inherited.length]);
+						int index = local.size();
+
+						for (Snapshot snapshot : implemented) {
+							System.arraycopy(snapshot.priorities[x], 0, combined, index, snapshot.priorities[x].length);
+							index += snapshot.priorities[x].length;
+						}
+
+						System.arraycopy(inherited, 0, combined, index, inherited.length);
+						merged[x] = combined;
+						changed = true;
+					}
+				}
+
+				// Published while holding the lock, so that a thread waiting to build the same snapshot picks it up
+				built = new Snapshot(builtVersion, parentSnapshot, merged, changed ? flatten(merged) : parentSnapshot.listeners);
+				publishSnapshot(built);
+			} finally {
+				writeLock.release();
 			}
+
+			return built;
 		}
 
-		private void addChild(ListenerListInst child) {
-			if (this.children == null) {
-				this.children = new ArrayList<>();
+		private List<Snapshot> getInterfaceSnapshots() {
+			final ListenerList[] interfaces = getInterfaceLists();
+
+			if (interfaces.length == 0) {
+				return Collections.emptyList();
 			}
 
-			this.children.add(child);
+			final List<Snapshot> ret = new ArrayList<>(interfaces.length);
+
+			for (ListenerList list : interfaces) {
+				final ListenerListInst inst = list.getExistingInstance(id);
+
+				if (inst != null) {
+					ret.add(inst.getSnapshot());
+				}
+			}
+
+			return ret;
 		}
 
 		/**
-		 * Rebuild the local Array of listeners, returns early if there is no work to do.
+		 * Must be called after releasing the write lock, so the write locks of the implementing classes' lists are
+		 * never taken while holding it.
 		 */
-		private void buildCache() {
-			if (parent != null && parent.shouldRebuild()) {
-				parent.buildCache();
+		private void notifyImplementors() {
+			if (isInterfaceList()) {
+				invalidateImplementors(id);
 			}
-
-			ArrayList<IEventListener> ret = new ArrayList<>();
-			Arrays.stream(EventPriority.values()).forEach(value -> {
-				List<IEventListener> listeners = getListeners(value);
-
-				if (listeners.size() > 0) {
-					ret.add(value); //Add the priority to notify the event of it's current phase.
-					ret.addAll(listeners);
-				}
-			});
-			this.listeners.set(ret.toArray(new IEventListener[0]));
-			rebuild = false;
 		}
 
 		public void register(EventPriority priority, IEventListener listener) {
+			checkNotFrozen();
 			writeLock.acquireUninterruptibly();
 			priorities.get(priority.ordinal()).add(listener);
+			incrementVersion();
 			writeLock.release();
-			this.forceRebuild();
+			notifyImplementors();
 		}
 
 		public void unregister(IEventListener listener) {
+			checkNotFrozen();
 			writeLock.acquireUninterruptibly();
-			priorities.stream().filter(list -> list.remove(listener)).forEach(list -> this.forceRebuild());
+			boolean changed = false;
+
+			for (ArrayList<IEventListener> list : priorities) {
+				if (list.remove(listener)) {
+					incrementVersion();
+					changed = true;
+				}
+			}
+
 			writeLock.release();
+
+			if (changed) {
+				notifyImplementors();
+			}
+		}
+
+		public void unregisterAll(Set<IEventListener> listeners) {
+			checkNotFrozen();
+			writeLock.acquireUninterruptibly();
+			boolean changed = false;
+
+			for (ArrayList<IEventListener> list : priorities) {
+				changed |= list.removeIf(listeners::contains);
+			}
+
+			if (changed) {
+				incrementVersion();
+			}
+
+			writeLock.release();
+
+			if (changed) {
+				notifyImplementors();
+			}
+		}
+	}
+
+	/**
+	 * Flattens per-priority listener arrays into a single dispatch array, with the priority
+	 * placed in front of each non-empty band to notify the event of its current phase.
+	 */
+	private static IEventListener[] flatten(IEventListener[][] priorities) {
+		int size = 0;
+
+		for (IEventListener[] band : priorities) {
+			if (band.length > 0) {
+				size += band.length + 1;
+			}
+		}
+
+		IEventListener[] ret = new IEventListener[size];
+		int index = 0;
+
+		for (int x = 0; x < priorities.length; x++) {
+			IEventListener[] band = priorities[x];
+
+			if (band.length > 0) {
+				ret[index++] = PRIORITIES[x];
+				System.arraycopy(band, 0, ret, index, band.length);
+				index += band.length;
+			}
+		}
+
+		return ret;
+	}
+
+	/**
+	 * Pre-filtered dispatch arrays for keyed listeners, indexed by the value of one key extractor.
+	 *
+	 * <p>The extractor with the most keyed listeners is indexed. Listeners keyed by any other extractor are
+	 * kept in every array and check their key themselves when invoked.
+	 */
+	private static final class KeyIndex {
+		private final Function<Event, ?> keyExtractor;
+		private final Map<Object, IEventListener[]> byKey = new HashMap<>();
+		private final IEventListener[] unmatched;
+
+		private KeyIndex(IEventListener[] listeners, Map<Function<Event, ?>, Integer> keyedCounts) {
+			Function<Event, ?> keyExtractor = null;
+			int max = 0;
+
+			for (Map.Entry<Function<Event, ?>, Integer> entry : keyedCounts.entrySet()) {
+				if (entry.getValue() > max) {
+					keyExtractor = entry.getKey();
+					max = entry.getValue();
+				}
+			}
+
+			this.keyExtractor = keyExtractor;
+
+			for (IEventListener listener : listeners) {
+				if (listener instanceof ConsumerListener && ((ConsumerListener) listener).getKeyExtractor() == keyExtractor) {
+					byKey.computeIfAbsent(((ConsumerListener) listener).getKey(), key -> select(listeners, key));
+				}
+			}
+
+			this.unmatched = select(listeners, null);
+		}
+
+		private long estimateBytes() {
+			long bytes = EventBusDiagnostics.objectBytes(3) + EventBusDiagnostics.mapBytes(byKey.size()) + EventBusDiagnostics.arrayBytes(unmatched.length);
+
+			for (IEventListener[] selected : byKey.values()) {
+				bytes += EventBusDiagnostics.arrayBytes(selected.length);
+			}
+
+			return bytes;
+		}
+
+		private IEventListener[] select(Event event) {
+			IEventListener[] ret = byKey.get(keyExtractor.apply(event));
+			return ret == null ? unmatched : ret;
+		}
+
+		/**
+		 * Filters the dispatch array down to the listeners receiving events with the given key,
+		 * dropping the priorities of bands that end up empty.
+		 */
+		private IEventListener[] select(IEventListener[] listeners, @Nullable Object key) {
+			List<IEventListener> ret = new ArrayList<>(listeners.length);
+			IEventListener phase = null;
+
+			for (IEventListener listener : listeners) {
+				if (listener instanceof EventPriority) {
+					phase = listener;
+					continue;
+				}
+
+				if (listener instanceof ConsumerListener && ((ConsumerListener) listener).getKeyExtractor() == keyExtractor) {
+					if (!((ConsumerListener) listener).getKey().equals(key)) {
+						continue;
+					}
+
+					listener = ((ConsumerListener) listener).getKeyMatched();
+				}
+
+				if (phase != null) {
+					ret.add(phase);
+					phase = null;
+				}
+
+				ret.add(listener);
+			}
+
+			return ret.toArray(NO_LISTENERS);
+		}
+	}
+
+	/**
+	 * An immutable view of the listeners of one event class on one bus, including all inherited listeners.
+	 */
+	static final class Snapshot {
+		private final int version;
+		@Nullable
+		private final Snapshot parent;
+		private final IEventListener[][] priorities;
+		private final IEventListener[] listeners;
+		/**
+		 * True if any listener receives events regardless of their generic type.
+		 */
+		private final boolean unfiltered;
+		/**
+		 * The distinct generic types the remaining listeners are filtered for.
+		 */
+		private final Type[] genericFilters;
+		@Nullable
+		private final KeyIndex keyIndex;
+
+		private Snapshot(int version, @Nullable Snapshot parent, IEventListener[][] priorities, IEventListener[] listeners) {
+			this.version = version;
+			this.parent = parent;
+			this.priorities = priorities;
+			this.listeners = listeners;
+
+			if (parent != null && parent.listeners == listeners) {
+				this.unfiltered = parent.unfiltered;
+				this.genericFilters = parent.genericFilters;
+				this.keyIndex = parent.keyIndex;
+				return;
+			}
+
+			boolean unfiltered = false;
+			List<Type> genericFilters = new ArrayList<>();
+			Map<Function<Event, ?>, Integer> keyedCounts = new IdentityHashMap<>();
+
+			for (IEventListener[] band : priorities) {
+				for (IEventListener listener : band) {
+					Type filter = null;
+
+					if (listener instanceof ConsumerListener) {
+						ConsumerListener consumerListener = (ConsumerListener) listener;
+						filter = consumerListener.getGenericFilter();
+
+						if (consumerListener.getKeyExtractor() != null) {
+							keyedCounts.merge(consumerListener.getKeyExtractor(), 1, Integer::sum);
+						}
+					}
+
+					if (filter == null) {
+						unfiltered = true;
+					} else if (!genericFilters.contains(filter)) {
+						genericFilters.add(filter);
+					}
+				}
+			}
+
+			this.unfiltered = unfiltered;
+			this.genericFilters = genericFilters.toArray(new Type[0]);
+			this.keyIndex = keyedCounts.isEmpty() ? null : new KeyIndex(listeners, keyedCounts);
+		}
+
+		/**
+		 * Returns the listeners that should be invoked for the given event, using the key index if there is one.
+		 */
+		IEventListener[] getListeners(Event event) {
+			return keyIndex == null ? listeners : keyIndex.select(event);
+		}
+
+		boolean hasListeners() {
+			return listeners.length > 0;
+		}
+
+		/**
+		 * Estimates the heap used by this snapshot, leaving out the arrays shared with its parent.
+		 */
+		long estimateBytes() {
+			long bytes = EventBusDiagnostics.objectBytes(7) + EventBusDiagnostics.arrayBytes(priorities.length);
+
+			for (int x = 0; x < priorities.length; x++) {
+				if (parent == null || parent.priorities[x] != priorities[x]) {
+					bytes += EventBusDiagnostics.arrayBytes(priorities[x].length);
+				}
+			}
+
+			if (parent == null || parent.listeners != listeners) {
+				bytes += EventBusDiagnostics.arrayBytes(listeners.length) + EventBusDiagnostics.arrayBytes(genericFilters.length);
+
+				if (keyIndex != null) {
+					bytes += keyIndex.estimateBytes();
+				}
+			}
+
+			return bytes;
+		}
+
+		boolean hasListeners(Type genericType) {
+			if (unfiltered) {
+				return true;
+			}
+
+			for (Type filter : genericFilters) {
+				if (filter == genericType) {
+					return true;
+				}
+			}
+
+			return false;
 		}
 	}
 }
@@ -0,0 +1,15 @@
+package net.minecraftforge.eventbus;
+
+/**
+ * Runtime specific helpers. On Java 9 and later this class is replaced by the one in the java9 source set.
+ */
+final class Platform {
+	private Platform() {
+	}
+
+	/**
+	 * Hints that the caller is busy waiting. Does nothing before Java 9.
+	 */
+	static void onSpinWait() {
+	}
+}
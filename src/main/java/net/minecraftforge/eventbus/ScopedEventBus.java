@@ -0,0 +1,65 @@
+package net.minecraftforge.eventbus;
+
+import java.util.Arrays;
+
+import net.minecraftforge.eventbus.api.IEventExceptionHandler;
+import net.minecraftforge.eventbus.api.IScopedEventBus;
+import net.minecraftforge.eventbus.api.ListenerGroup;
+
+/**
+ * A composite of the buses of its parents and a bus of its own, which holds the listeners added to the scope.
+ *
+ * <p>The own bus takes over the ID of a closed scope, and closing the scope only removes the listeners it added,
+ * so neither depends on how many event classes or buses exist.
+ */
+final class ScopedEventBus extends CompositeEventBus implements IScopedEventBus {
+	private final EventBus own;
+
+	ScopedEventBus(EventBus[] parents, IEventExceptionHandler handler) {
+		this(parents, EventBus.createScopeMember(parents[0]), handler);
+	}
+
+	private ScopedEventBus(EventBus[] parents, EventBus own, IEventExceptionHandler handler) {
+		// The own bus goes last, so that inherited listeners run first within each priority
+		super(handler, withOwn(parents, own), parents.length);
+		this.own = own;
+	}
+
+	private static EventBus[] withOwn(EventBus[] parents, EventBus own) {
+		final EventBus[] members = Arrays.copyOf(parents, parents.length + 1);
+		members[parents.length] = own;
+		return members;
+	}
+
+	/**
+	 * Freezes the listeners of this scope, leaving its parents alone.
+	 */
+	@Override
+	public void freeze() {
+		own.freeze();
+	}
+
+	@Override
+	public boolean isFrozen() {
+		return own.isFrozen();
+	}
+
+	/**
+	 * Toggles the group for the listeners of this scope, leaving its parents alone.
+	 */
+	@Override
+	public void setGroupEnabled(ListenerGroup group, boolean enabled) {
+		own.setGroupEnabled(group, enabled);
+	}
+
+	@Override
+	public boolean isGroupEnabled(ListenerGroup group) {
+		return own.isGroupEnabled(group);
+	}
+
+	@Override
+	public void close() {
+		stop();
+		own.release();
+	}
+}
@@ -0,0 +1,418 @@
+package net.minecraftforge.eventbus;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.function.ObjIntConsumer;
+
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IIntSignal;
+import net.minecraftforge.eventbus.api.ILongSignal;
+import net.minecraftforge.eventbus.api.IObjIntSignal;
+import net.minecraftforge.eventbus.api.ISignal;
+import net.minecraftforge.eventbus.api.SignalKey;
+
+/**
+ * The listeners of one signal channel of an {@link EventBus}, kept in an array sorted by priority that is replaced
+ * as a whole when they change, so firing reads a single volatile field and needs no lock.
+ */
+abstract class SignalChannel implements ISignal {
+	private static final Object[] NO_LISTENERS = new Object[0];
+	private static final EventPriority[] NO_PRIORITIES = new EventPriority[0];
+
+	private final EventBus bus;
+	private final SignalKey<?> key;
+	protected volatile Object[] listeners = NO_LISTENERS;
+	// The priority of each listener, only accessed while holding the lock of the channel
+	private EventPriority[] priorities = NO_PRIORITIES;
+
+	private SignalChannel(EventBus bus, SignalKey<?> key) {
+		this.bus = bus;
+		this.key = key;
+	}
+
+	static SignalChannel create(EventBus bus, SignalKey<?> key) {
+		switch (key.getKind()) {
+		case INT:
+			return new IntChannel(bus, key);
+		case LONG:
+			return new LongChannel(bus, key);
+		case OBJ_INT:
+			return new ObjIntChannel<>(bus, key);
+		default:
+			throw new IllegalArgumentException("Unknown signal kind: " + key.getKind());
+		}
+	}
+
+	/**
+	 * Creates the channel of a composite bus, firing the listeners of the given channels of its members in priority order.
+	 *
+	 * @param primary The channel that listeners added through the composite channel are added to
+	 */
+	static ISignal createComposite(CompositeEventBus bus, SignalKey<?> key, SignalChannel[] channels, SignalChannel primary) {
+		switch (key.getKind()) {
+		case INT:
+			return new CompositeIntChannel(bus, key, channels, (IntChannel) primary);
+		case LONG:
+			return new CompositeLongChannel(bus, key, channels, (LongChannel) primary);
+		case OBJ_INT:
+			return new CompositeObjIntChannel<>(bus, key, channels, (ObjIntChannel<?>) primary);
+		default:
+			throw new IllegalArgumentException("Unknown signal kind: " + key.getKind());
+		}
+	}
+
+	@Override
+	public SignalKey<?> getKey() {
+		return key;
+	}
+
+	@Override
+	public boolean hasListeners() {
+		return listeners.length > 0 && !bus.isShutdown();
+	}
+
+	protected final synchronized void add(EventPriority priority, Object listener) {
+		Objects.requireNonNull(priority, "priority");
+		Objects.requireNonNull(listener, "listener");
+		bus.checkWritable();
+		int index = priorities.length;
+
+		// After the listeners of the same and of higher priorities
+		while (index > 0 && priorities[index - 1].ordinal() > priority.ordinal()) {
+			index--;
+		}
+
+		final Object[] listeners = this.listeners;
+		final Object[] newListeners = new Object[listeners.length + 1];
+		final EventPriority[] newPriorities = new EventPriority[priorities.length + 1];
+		System.arraycopy(listeners, 0, newListeners, 0, index);
+		System.arraycopy(priorities, 0, newPriorities, 0, index);
+		newListeners[index] = listener;
+		newPriorities[index] = priority;
+		System.arraycopy(listeners, index, newListeners, index + 1, listeners.length - index);
+		System.arraycopy(priorities, index, newPriorities, index + 1, priorities.length - index);
+		priorities = newPriorities;
+		this.listeners = newListeners;
+	}
+
+	protected final synchronized void remove(Object listener) {
+		bus.checkWritable();
+		final Object[] listeners = this.listeners;
+
+		for (int index = 0; index < listeners.length; index++) {
+			if (listeners[index] == listener) {
+				final Object[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+				final EventPriority[] newPriorities = Arrays.copyOf(priorities, priorities.length - 1);
+				System.arraycopy(listeners, index + 1, newListeners, index, listeners.length - index - 1);
+				System.arraycopy(priorities, index + 1, newPriorities, index, priorities.length - index - 1);
+				priorities = newPriorities;
+				this.listeners = newListeners.length == 0 ? NO_LISTENERS : newListeners;
+				return;
+			}
+		}
+	}
+
+	protected final boolean isShutdown() {
+		return bus.isShutdown();
+	}
+
+	/**
+	 * @return The listeners invoked when firing this channel, none while its bus is shut down
+	 */
+	private Object[] activeListeners() {
+		return bus.isShutdown() ? NO_LISTENERS : listeners;
+	}
+
+	@Override
+	public String toString() {
+		return key.toString();
+	}
+
+	private static final class IntChannel extends SignalChannel implements IIntSignal {
+		private IntChannel(EventBus bus, SignalKey<?> key) {
+			super(bus, key);
+		}
+
+		@Override
+		public void addListener(EventPriority priority, IntConsumer listener) {
+			add(priority, listener);
+		}
+
+		@Override
+		public void removeListener(IntConsumer listener) {
+			remove(listener);
+		}
+
+		@Override
+		public void fire(int value) {
+			final Object[] listeners = this.listeners;
+
+			if (listeners.length == 0 || isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners) {
+				((IntConsumer) listener).accept(value);
+			}
+		}
+	}
+
+	private static final class LongChannel extends SignalChannel implements ILongSignal {
+		private LongChannel(EventBus bus, SignalKey<?> key) {
+			super(bus, key);
+		}
+
+		@Override
+		public void addListener(EventPriority priority, LongConsumer listener) {
+			add(priority, listener);
+		}
+
+		@Override
+		public void removeListener(LongConsumer listener) {
+			remove(listener);
+		}
+
+		@Override
+		public void fire(long value) {
+			final Object[] listeners = this.listeners;
+
+			if (listeners.length == 0 || isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners) {
+				((LongConsumer) listener).accept(value);
+			}
+		}
+	}
+
+	private static final class ObjIntChannel<T> extends SignalChannel implements IObjIntSignal<T> {
+		private ObjIntChannel(EventBus bus, SignalKey<?> key) {
+			super(bus, key);
+		}
+
+		@Override
+		public void addListener(EventPriority priority, ObjIntConsumer<? super T> listener) {
+			add(priority, listener);
+		}
+
+		@Override
+		public void removeListener(ObjIntConsumer<? super T> listener) {
+			remove(listener);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void fire(T object, int value) {
+			final Object[] listeners = this.listeners;
+
+			if (listeners.length == 0 || isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners) {
+				((ObjIntConsumer<? super T>) listener).accept(object, value);
+			}
+		}
+	}
+
+	/**
+	 * The channel of a {@link CompositeEventBus}. The listeners of the members are merged into one array sorted by
+	 * priority, with the listeners of the same priority in member order, so that a listener of a later member can
+	 * run before a lower priority one of an earlier member.
+	 *
+	 * <p>The merged array is cached along with the member arrays it was built from. Firing compares those with the
+	 * current arrays of the members, and rebuilds the cache if any of them was replaced, which happens whenever
+	 * listeners are added or removed, or a member is shut down or started.
+	 */
+	private abstract static class Composite implements ISignal {
+		private final CompositeEventBus bus;
+		private final SignalKey<?> key;
+		private final SignalChannel[] channels;
+		private volatile Merged merged;
+
+		private Composite(CompositeEventBus bus, SignalKey<?> key, SignalChannel[] channels) {
+			this.bus = bus;
+			this.key = key;
+			this.channels = channels;
+			// Built from no arrays at all, so the first read merges the current ones
+			this.merged = new Merged(new Object[channels.length][], NO_LISTENERS);
+		}
+
+		@Override
+		public SignalKey<?> getKey() {
+			return key;
+		}
+
+		@Override
+		public boolean hasListeners() {
+			return listeners().length > 0 && !bus.isShutdown();
+		}
+
+		/**
+		 * @return The listeners of all members in the order they are invoked, rebuilt first if a member changed
+		 */
+		protected final Object[] listeners() {
+			Merged merged = this.merged;
+
+			for (int x = 0; x < channels.length; x++) {
+				if (merged.sources[x] != channels[x].activeListeners()) {
+					// Threads racing here each build an equivalent array, any of them may be kept
+					merged = merge();
+					this.merged = merged;
+					break;
+				}
+			}
+
+			return merged.listeners;
+		}
+
+		private Merged merge() {
+			final Object[][] sources = new Object[channels.length][];
+			final EventPriority[][] priorities = new EventPriority[channels.length][];
+			int size = 0;
+
+			for (int x = 0; x < channels.length; x++) {
+				final SignalChannel channel = channels[x];
+
+				// The lock keeps the listeners and their priorities consistent with each other
+				synchronized (channel) {
+					sources[x] = channel.activeListeners();
+					priorities[x] = sources[x] == channel.listeners ? channel.priorities : NO_PRIORITIES;
+				}
+
+				size += sources[x].length;
+			}
+
+			final Object[] listeners = size == 0 ? NO_LISTENERS : new Object[size];
+			final int[] next = new int[channels.length];
+			int index = 0;
+
+			for (EventPriority priority : EventPriority.values()) {
+				for (int x = 0; x < channels.length; x++) {
+					while (next[x] < sources[x].length && priorities[x][next[x]] == priority) {
+						listeners[index++] = sources[x][next[x]++];
+					}
+				}
+			}
+
+			return new Merged(sources, listeners);
+		}
+
+		protected final boolean isShutdown() {
+			return bus.isShutdown();
+		}
+
+		@Override
+		public String toString() {
+			return key.toString();
+		}
+	}
+
+	/**
+	 * The merged listeners of a composite channel, and the arrays of its members they were merged from.
+	 */
+	private static final class Merged {
+		private final Object[][] sources;
+		private final Object[] listeners;
+
+		private Merged(Object[][] sources, Object[] listeners) {
+			this.sources = sources;
+			this.listeners = listeners;
+		}
+	}
+
+	private static final class CompositeIntChannel extends Composite implements IIntSignal {
+		private final IntChannel primary;
+
+		private CompositeIntChannel(CompositeEventBus bus, SignalKey<?> key, SignalChannel[] channels, IntChannel primary) {
+			super(bus, key, channels);
+			this.primary = primary;
+		}
+
+		@Override
+		public void addListener(EventPriority priority, IntConsumer listener) {
+			primary.addListener(priority, listener);
+		}
+
+		@Override
+		public void removeListener(IntConsumer listener) {
+			primary.removeListener(listener);
+		}
+
+		@Override
+		public void fire(int value) {
+			if (isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners()) {
+				((IntConsumer) listener).accept(value);
+			}
+		}
+	}
+
+	private static final class CompositeLongChannel extends Composite implements ILongSignal {
+		private final LongChannel primary;
+
+		private CompositeLongChannel(CompositeEventBus bus, SignalKey<?> key, SignalChannel[] channels, LongChannel primary) {
+			super(bus, key, channels);
+			this.primary = primary;
+		}
+
+		@Override
+		public void addListener(EventPriority priority, LongConsumer listener) {
+			primary.addListener(priority, listener);
+		}
+
+		@Override
+		public void removeListener(LongConsumer listener) {
+			primary.removeListener(listener);
+		}
+
+		@Override
+		public void fire(long value) {
+			if (isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners()) {
+				((LongConsumer) listener).accept(value);
+			}
+		}
+	}
+
+	private static final class CompositeObjIntChannel<T> extends Composite implements IObjIntSignal<T> {
+		private final ObjIntChannel<T> primary;
+
+		@SuppressWarnings("unchecked")
+		private CompositeObjIntChannel(CompositeEventBus bus, SignalKey<?> key, SignalChannel[] channels, ObjIntChannel<?> primary) {
+			super(bus, key, channels);
+			this.primary = (ObjIntChannel<T>) primary;
+		}
+
+		@Override
+		public void addListener(EventPriority priority, ObjIntConsumer<? super T> listener) {
+			primary.addListener(priority, listener);
+		}
+
+		@Override
+		public void removeListener(ObjIntConsumer<? super T> listener) {
+			primary.removeListener(listener);
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void fire(T object, int value) {
+			if (isShutdown()) {
+				return;
+			}
+
+			for (Object listener : listeners()) {
+				((ObjIntConsumer<? super T>) listener).accept(object, value);
+			}
+		}
+	}
+}
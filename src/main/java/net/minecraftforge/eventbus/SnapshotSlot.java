@@ -0,0 +1,33 @@
+package net.minecraftforge.eventbus;
+
+/**
+ * Holds the version stamp and the current snapshot of a per-bus listener list.
+ *
+ * <p>On Java 9 and later this class is replaced by the one in the java9 source set, which publishes both
+ * with release writes and acquire reads through VarHandles instead of full volatile accesses.
+ *
+ * @param <S> The snapshot type
+ */
+abstract class SnapshotSlot<S> {
+	private volatile int version = 0;
+	private volatile S snapshot;
+
+	final int getVersion() {
+		return version;
+	}
+
+	/**
+	 * Marks the listeners as changed. Must only be called while holding the write lock of the list.
+	 */
+	final void incrementVersion() {
+		version = version + 1;
+	}
+
+	final S getPublishedSnapshot() {
+		return snapshot;
+	}
+
+	final void publishSnapshot(S snapshot) {
+		this.snapshot = snapshot;
+	}
+}
@@ -0,0 +1,66 @@
+package net.minecraftforge.eventbus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.ListenerThrottle;
+
+/**
+ * Passes events on to a consumer as far as its {@link ListenerThrottle} allows. It is invoked by
+ * {@link ConsumerListener} after the other filters, so only matching events are counted.
+ *
+ * <p>The counters are plain fields, as the throttled listeners are meant to be cheap on hot events. Posts on several
+ * threads at once may thus let a few more events through than the throttle asks for, but never block. The rate limit
+ * counts invocations in windows of one second, reading the clock once for each sampled event.
+ */
+final class ThrottledConsumer<T extends Event> implements Consumer<T> {
+	private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+	private final Consumer<T> consumer;
+	private final int sampleEvery;
+	private final int maxPerWindow;
+	private int skipped;
+	private int invokedInWindow;
+	private long windowStart;
+
+	ThrottledConsumer(ListenerThrottle throttle, Consumer<T> consumer) {
+		this.consumer = consumer;
+		this.sampleEvery = throttle.getSampleEvery();
+		this.maxPerWindow = throttle.getMaxPerSecond();
+		this.windowStart = System.nanoTime() - WINDOW_NANOS;
+	}
+
+	@Override
+	public void accept(T event) {
+		if (sampleEvery > 1) {
+			if (++skipped < sampleEvery) {
+				return;
+			}
+
+			skipped = 0;
+		}
+
+		if (maxPerWindow > 0) {
+			final long now = System.nanoTime();
+
+			if (now - windowStart >= WINDOW_NANOS) {
+				windowStart = now;
+				invokedInWindow = 0;
+			}
+
+			if (invokedInWindow >= maxPerWindow) {
+				return;
+			}
+
+			invokedInWindow++;
+		}
+
+		consumer.accept(event);
+	}
+
+	@Override
+	public String toString() {
+		return consumer.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package net.minecraftforge.eventbus;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+import net.minecraftforge.eventbus.api.Event;
+
+/**
+ * Weakly references the owner of listeners added through {@link EventBus#addWeakListener}. It keys the listeners
+ * of the owner in the bus, and is enqueued once the owner is collected so the bus can purge them.
+ *
+ * <p>Owners are compared by identity. A cleared reference only equals itself, which is still enough to remove
+ * its entry once it was dequeued, as its hash code doesn't change.
+ */
+final class WeakOwner extends WeakReference<Object> {
+	private final int hash;
+
+	WeakOwner(Object owner, @Nullable ReferenceQueue<Object> queue) {
+		super(owner, queue);
+		this.hash = System.identityHashCode(owner);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof WeakOwner)) {
+			return false;
+		}
+
+		final Object owner = get();
+		return owner != null && owner == ((WeakOwner) obj).get();
+	}
+
+	/**
+	 * Passes events on to a handler along with the owner, for as long as the owner is reachable.
+	 */
+	static final class Handler<O, T extends Event> implements Consumer<T> {
+		private final WeakOwner owner;
+		private final BiConsumer<? super O, T> handler;
+
+		Handler(WeakOwner owner, BiConsumer<? super O, T> handler) {
+			this.owner = owner;
+			this.handler = handler;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void accept(T event) {
+			final O target = (O) owner.get();
+
+			// Collected, but not purged yet
+			if (target != null) {
+				handler.accept(target, event);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return handler.toString();
+		}
+	}
+}
@@ -11,6 +11,8 @@ public final class BusBuilder {
 	// true by default
 	private boolean trackPhases = true;
 	private boolean startShutdown = false;
+	private IDispatchObserver observer;
+	private long deferralBudget = 0;
 
 	public static BusBuilder builder() {
 		return new BusBuilder();
@@ -39,6 +41,42 @@ public final class BusBuilder {
 		return this;
 	}
 
+	public IDispatchObserver getObserver() {
+		return observer;
+	}
+
+	/**
+	 * Sets an observer to be notified around every post on the built bus, such as an {@link net.minecraftforge.eventbus.EventRecorder}.
+	 *
+	 * <p>Buses without an observer don't pay for timing their posts.
+	 */
+	public BusBuilder setObserver(IDispatchObserver observer) {
+		this.observer = observer;
+		return this;
+	}
+
+	public long getDeferralBudget() {
+		return deferralBudget;
+	}
+
+	/**
+	 * Sets how long a post of a {@link Event#isDeferrable() deferrable} event may take before its remaining
+	 * priority bands are queued until the next {@link IEventBus#drain(long)}. The budget is checked between bands,
+	 * and the first band always runs.
+	 *
+	 * <p>Buses without a budget, the default, always invoke every listener right away.
+	 *
+	 * @param budgetNanos The budget per post in nanoseconds, or 0 for no budget
+	 */
+	public BusBuilder setDeferralBudget(long budgetNanos) {
+		if (budgetNanos < 0) {
+			throw new IllegalArgumentException("Negative deferral budget: " + budgetNanos);
+		}
+
+		this.deferralBudget = budgetNanos;
+		return this;
+	}
+
 	public IEventBus build() {
 		return new EventBus(this);
 	}
@@ -0,0 +1,79 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * Counts how often and for how long the listeners of {@link Event#isDeferrable() deferrable} events were put off
+ * until a later {@link IEventBus#drain(long)}, as returned by {@link IEventBus#getDeferralStats()}.
+ */
+public final class DeferralStats {
+	public static final DeferralStats EMPTY = new DeferralStats(0, 0, 0, 0, 0);
+
+	private final long deferredPosts;
+	private final long completedPosts;
+	private final int pendingPosts;
+	private final long totalDelayNanos;
+	private final long maxDelayNanos;
+
+	public DeferralStats(long deferredPosts, long completedPosts, int pendingPosts, long totalDelayNanos, long maxDelayNanos) {
+		this.deferredPosts = deferredPosts;
+		this.completedPosts = completedPosts;
+		this.pendingPosts = pendingPosts;
+		this.totalDelayNanos = totalDelayNanos;
+		this.maxDelayNanos = maxDelayNanos;
+	}
+
+	/**
+	 * @return The number of posts that ran out of budget and had some of their listeners deferred
+	 */
+	public long getDeferredPosts() {
+		return deferredPosts;
+	}
+
+	/**
+	 * @return The number of deferred posts whose remaining listeners were all invoked by a drain
+	 */
+	public long getCompletedPosts() {
+		return completedPosts;
+	}
+
+	/**
+	 * @return The number of deferred posts still waiting to be drained
+	 */
+	public int getPendingPosts() {
+		return pendingPosts;
+	}
+
+	/**
+	 * @return The time between deferring and completing a post, summed over all completed posts, in nanoseconds
+	 */
+	public long getTotalDelayNanos() {
+		return totalDelayNanos;
+	}
+
+	/**
+	 * @return The longest time between deferring and completing a post, in nanoseconds
+	 */
+	public long getMaxDelayNanos() {
+		return maxDelayNanos;
+	}
+
+	/**
+	 * @return The average time between deferring and completing a post, in nanoseconds
+	 */
+	public double getAverageDelayNanos() {
+		return completedPosts == 0 ? 0 : (double) totalDelayNanos / completedPosts;
+	}
+
+	/**
+	 * @return The stats of this and the given bus added up, for reporting on several buses at once
+	 */
+	public DeferralStats plus(DeferralStats other) {
+		return new DeferralStats(deferredPosts + other.deferredPosts, completedPosts + other.completedPosts, pendingPosts + other.pendingPosts,
+				totalDelayNanos + other.totalDelayNanos, Math.max(maxDelayNanos, other.maxDelayNanos));
+	}
+
+	@Override
+	public String toString() {
+		return "DeferralStats{deferred=" + deferredPosts + ", completed=" + completedPosts + ", pending=" + pendingPosts
+				+ ", averageDelayNanos=" + (long) getAverageDelayNanos() + ", maxDelayNanos=" + maxDelayNanos + "}";
+	}
+}
@@ -49,6 +49,22 @@ public class Event {
 		return false;
 	}
 
+	/**
+	 * Determine if the listeners of this event may be run later than the post, on buses with a
+	 * {@link BusBuilder#setDeferralBudget(long) deferral budget}.
+	 *
+	 * <p>Once a post of a deferrable event exceeds the budget, the priority bands it didn't reach yet are queued
+	 * until the next {@link IEventBus#drain(long)}. Only events whose low priority listeners don't need to run before
+	 * the post returns, and that aren't modified after it, should be deferrable. The cancelled state returned by the
+	 * post of a deferred event only covers the listeners invoked before it returned, and
+	 * {@link IDispatchObserver observers} are told about the deferral and about the drained rest separately.
+	 *
+	 * @return If the listeners of this event may be deferred
+	 */
+	public boolean isDeferrable() {
+		return false;
+	}
+
 	/**
 	 * Determine if this event is canceled and should stop executing.
 	 *
@@ -88,6 +104,22 @@ public class Event {
 		return false;
 	}
 
+	/**
+	 * Determine from which priority band on a decisive result ends the dispatch of this event. Once a listener in
+	 * that band or a later one leaves the result at {@link Result#ALLOW} or {@link Result#DENY}, the remaining
+	 * listeners aren't invoked. A result settled by an earlier band ends the dispatch as soon as the band is reached.
+	 *
+	 * <p>This suits permission-style events that are posted constantly and mostly settled by the first listener
+	 * that cares. Listeners that must see every post, such as ones logging the outcome, don't get to see settled
+	 * events, so only events whose later listeners have nothing left to decide should opt in.
+	 *
+	 * @return The band from which on a decisive result short-circuits the dispatch, or null to invoke every listener
+	 */
+	@Nullable
+	public EventPriority getShortCircuitPriority() {
+		return null;
+	}
+
 	/**
 	 * Returns the value set as the result of this event.
 	 */
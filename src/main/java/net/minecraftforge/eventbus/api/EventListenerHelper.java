@@ -19,63 +19,44 @@
 
 package net.minecraftforge.eventbus.api;
 
-import java.util.IdentityHashMap;
-import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
-
 import net.minecraftforge.eventbus.ListenerList;
 
 public class EventListenerHelper {
-	private static final Map<Class<?>, ListenerList> listeners = new IdentityHashMap<>();
-	private static ReadWriteLock lock = new ReentrantReadWriteLock(true);
+	// Held by each class rather than by a global map, so that event classes of other class loaders can be unloaded.
+	// A list only refers to its own class and to the lists of its superclass and interfaces, which the class keeps
+	// loaded anyway.
+	private static final ClassValue<ListenerList> listeners = new ClassValue<ListenerList>() {
+		@Override
+		protected ListenerList computeValue(Class<?> eventClass) {
+			return computeListenerList(eventClass);
+		}
+	};
 
 	/**
 	 * Returns a {@link ListenerList} object that contains all listeners
 	 * that are registered to this event class.
 	 *
-	 * <p>This supports abstract classes that cannot be instantiated.
+	 * <p>This supports abstract classes that cannot be instantiated, and interfaces, whose lists hold the listeners
+	 * added through {@link IEventBus#addInterfaceListener}.
 	 *
-	 * <p>Note: this method is currently very slow.
+	 * <p>Looking up an existing list is lock free and doesn't allocate, so this is safe to call on every post.
+	 * Lists are kept for as long as their class is loaded, once it is unloaded they are collected along with it,
+	 * provided no bus still holds listeners for them.
 	 */
 	public static ListenerList getListenerList(Class<?> eventClass) {
-		final Lock readLock = lock.readLock();
-		// to read the listener list, let's take the read lock
-		readLock.lock();
-		ListenerList listenerList = listeners.get(eventClass);
-		readLock.unlock();
-
-		// if there's no entry, we'll end up here
-		if (listenerList == null) {
-			// Let's pre-compute our new listener list value. This will possibly call parents' listener list
-			// evaluations. as such, we need to make sure we don't hold a lock when we do this, otherwise
-			// we could conflict with the class init global lock that is implicitly present
-			listenerList = computeListenerList(eventClass);
-			// having computed a listener list, we'll grab the write lock.
-			// We'll also take the read lock, so we're very clear we have _both_ locks here.
-			final Lock writeLock = lock.writeLock();
-			writeLock.lock();
-			readLock.lock();
-			// insert our computed value if no existing value is present
-			listeners.putIfAbsent(eventClass, listenerList);
-			// get whatever value got stored in the list
-			listenerList = listeners.get(eventClass);
-			// and unlock, and we're done
-			readLock.unlock();
-			writeLock.unlock();
-		}
-
-		return listenerList;
+		// Parents are looked up while computing a list, which ClassValue allows for classes other than the one
+		// being computed. If threads race, they all end up with the single list that was installed
+		return listeners.get(eventClass);
 	}
 
 	private static ListenerList computeListenerList(Class<?> eventClass) {
-		if (eventClass == Event.class) {
-			return new ListenerList();
+		// Interfaces hold the listeners of IEventBus#addInterfaceListener, the lists of implementing classes pull them in
+		if (eventClass == Event.class || eventClass.isInterface()) {
+			return new ListenerList(eventClass, null);
 		}
 
 		ListenerList parentList = getListenerList(eventClass.getSuperclass());
 
-		return new ListenerList(parentList);
+		return new ListenerList(eventClass, parentList);
 	}
 }
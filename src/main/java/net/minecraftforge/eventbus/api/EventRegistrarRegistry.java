@@ -1,5 +1,6 @@
 package net.minecraftforge.eventbus.api;
 
+import java.util.ServiceLoader;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
@@ -47,4 +48,16 @@ public interface EventRegistrarRegistry {
 	 * @return A registrar that will register the event handlers of the class to the provided event bus
 	 */
 	<T> BiConsumer<T, IEventBus> getInstanceRegistrar(Class<T> clazz);
+
+	/**
+	 * Registers the registrars of every {@link IEventRegistrarProvider} service visible to a class loader, such as
+	 * the ones generated by the annotation processor for a mod.
+	 *
+	 * @param classLoader The class loader to look up the {@code META-INF/services} entries of the providers with
+	 */
+	default void registerProviders(ClassLoader classLoader) {
+		for (IEventRegistrarProvider provider : ServiceLoader.load(IEventRegistrarProvider.class, classLoader)) {
+			provider.registerAll(this);
+		}
+	}
 }
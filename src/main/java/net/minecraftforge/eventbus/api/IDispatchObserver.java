@@ -0,0 +1,96 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * Notified around every post on an event bus it was {@link BusBuilder#setObserver(IDispatchObserver) set on}.
+ *
+ * <p>Observers are called on the posting thread, and posts may nest when listeners post further events,
+ * so implementations must be thread safe and should be cheap.
+ */
+public interface IDispatchObserver {
+	/**
+	 * Checked once per post, before any other callback. When it returns false the post is dispatched
+	 * as if there was no observer at all.
+	 *
+	 * @return Whether this observer currently wants to be notified
+	 */
+	default boolean isEnabled() {
+		return true;
+	}
+
+	/**
+	 * Checked once per observed post. When it returns true, {@link #onListenerStarted} and {@link #onListenerFinished}
+	 * are called around every listener of the post.
+	 *
+	 * @return Whether this observer currently wants to be notified about individual listeners
+	 */
+	default boolean observesListeners() {
+		return false;
+	}
+
+	/**
+	 * Called before the listeners of an event are invoked.
+	 *
+	 * @param busID         The ID of the bus the event is posted on
+	 * @param event         The event being posted
+	 * @param listenerCount The number of listeners the event will be dispatched to
+	 */
+	default void onPostStarted(int busID, Event event, int listenerCount) {
+	}
+
+	/**
+	 * Called before a single listener is invoked, if {@link #observesListeners()} returned true for this post.
+	 *
+	 * @param busID    The ID of the bus the event is posted on
+	 * @param event    The event being posted
+	 * @param listener The listener about to be invoked
+	 */
+	default void onListenerStarted(int busID, Event event, IEventListener listener) {
+	}
+
+	/**
+	 * Called after a single listener was invoked, including when it threw, if {@link #observesListeners()}
+	 * returned true for this post.
+	 *
+	 * @param busID    The ID of the bus the event is posted on
+	 * @param event    The event being posted
+	 * @param listener The listener that was invoked
+	 */
+	default void onListenerFinished(int busID, Event event, IEventListener listener) {
+	}
+
+	/**
+	 * Called right before {@link #onPostFinished} of a post whose remaining priority bands were
+	 * {@link Event#isDeferrable() deferred}. That call then only covers the listeners invoked during the post, and
+	 * its cancelled state is provisional. The rest is reported by {@link #onDeferredFinished} once it was drained.
+	 *
+	 * @param busID The ID of the bus the event was posted on
+	 * @param event The event whose listeners were deferred
+	 */
+	default void onPostDeferred(int busID, Event event) {
+	}
+
+	/**
+	 * Called by {@link IEventBus#drain(long)} once the deferred listeners of a post were invoked, including when one
+	 * of them threw. Listeners invoked while draining are reported through {@link #onListenerStarted} and
+	 * {@link #onListenerFinished} outside of any post.
+	 *
+	 * @param busID         The ID of the bus the event was posted on
+	 * @param event         The event whose deferred listeners were invoked
+	 * @param dispatchNanos The time spent invoking the deferred listeners across all drains, in nanoseconds
+	 * @param cancelled     Whether the event ended up {@link Event#isCanceled() cancelled}
+	 */
+	default void onDeferredFinished(int busID, Event event, long dispatchNanos, boolean cancelled) {
+	}
+
+	/**
+	 * Called after the listeners of an event were invoked, including when one of them threw.
+	 *
+	 * @param busID         The ID of the bus the event was posted on
+	 * @param event         The event that was posted
+	 * @param listenerCount The number of listeners the event was dispatched to
+	 * @param dispatchNanos The time spent invoking the listeners, in nanoseconds
+	 * @param cancelled     Whether the event ended up {@link Event#isCanceled() cancelled}
+	 */
+	default void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+	}
+}
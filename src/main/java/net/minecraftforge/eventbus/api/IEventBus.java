@@ -1,6 +1,11 @@
 package net.minecraftforge.eventbus.api;
 
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /**
  * EventBus API.
@@ -8,6 +13,10 @@ import java.util.function.Consumer;
  * <p>Register for events and post events.
  *
  * <p>To construct event bus instances, it is recommended to use {@link BusBuilder}.
+ *
+ * <p>Methods added after the original API have default implementations, so that other implementations keep
+ * compiling. Those adding listeners or changing the bus throw {@link UnsupportedOperationException}, while queries
+ * answer conservatively and {@link #prewarm()} does nothing.
  */
 public interface IEventBus {
 	/**
@@ -125,6 +134,218 @@ public interface IEventBus {
 	 */
 	<T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer);
 
+	/**
+	 * Add a consumer listener that only receives events whose key, as computed by the key extractor, equals the given key.
+	 *
+	 * <p>The bus indexes keyed listeners by key, so events with other keys don't invoke them at all. Listeners sharing
+	 * the same key extractor instance are indexed together, so the extractor should be kept in a constant rather than
+	 * written as a new lambda at every call site.
+	 *
+	 * @param keyExtractor Computes the key of a posted event
+	 * @param key          The key this listener subscribes to
+	 * @param consumer     Callback to invoke when a matching event is received
+	 * @param <T>          The {@link Event} subclass to listen for
+	 * @param <K>          The type of the key
+	 */
+	default <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Keyed listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a keyed consumer listener with the specified {@link EventPriority} and not receiving cancelled events.
+	 *
+	 * @param keyExtractor Computes the key of a posted event
+	 * @param key          The key this listener subscribes to
+	 * @param priority     {@link EventPriority} for this listener
+	 * @param consumer     Callback to invoke when a matching event is received
+	 * @param <T>          The {@link Event} subclass to listen for
+	 * @param <K>          The type of the key
+	 * @see #addKeyedListener(Function, Object, Consumer)
+	 */
+	default <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Keyed listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a keyed consumer listener with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * @param keyExtractor     Computes the key of a posted event
+	 * @param key              The key this listener subscribes to
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param consumer         Callback to invoke when a matching event is received
+	 * @param <T>              The {@link Event} subclass to listen for
+	 * @param <K>              The type of the key
+	 * @see #addKeyedListener(Function, Object, Consumer)
+	 */
+	default <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Keyed listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a keyed consumer listener with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * <p>Use this method when one of the other methods fails to determine the concrete {@link Event} subclass that is
+	 * intended to be subscribed to.
+	 *
+	 * @param keyExtractor     Computes the key of a posted event
+	 * @param key              The key this listener subscribes to
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param eventType        The concrete {@link Event} subclass to subscribe to
+	 * @param consumer         Callback to invoke when a matching event is received
+	 * @param <T>              The {@link Event} subclass to listen for
+	 * @param <K>              The type of the key
+	 * @see #addKeyedListener(Function, Object, Consumer)
+	 */
+	default <T extends Event, K> void addKeyedListener(Function<? super T, ? extends K> keyExtractor, K key, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Keyed listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a listener that holds its owner weakly, with {@link EventPriority#NORMAL} and not receiving cancelled events.
+	 *
+	 * <p>The handler receives the owner along with each event, so it should be a method reference or lambda that
+	 * doesn't capture the owner itself, such as {@code MyHandler::onEvent}. Once the owner is garbage collected its
+	 * weak listeners stop being invoked and are removed from this bus in batches, so short-lived owners such as
+	 * per-world or per-player objects don't need to be unregistered to be freed. Passing the owner to
+	 * {@link #unregister(Object)} removes its weak listeners right away.
+	 *
+	 * @param owner   The object the handler is invoked on, only weakly referenced by this bus
+	 * @param handler Callback to invoke with the owner when a matching event is received
+	 * @param <O>     The type of the owner
+	 * @param <T>     The {@link Event} subclass to listen for
+	 */
+	default <O, T extends Event> void addWeakListener(O owner, BiConsumer<? super O, T> handler) {
+		throw new UnsupportedOperationException("Weak listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a listener that holds its owner weakly, with the specified {@link EventPriority} and not receiving cancelled events.
+	 *
+	 * @param owner    The object the handler is invoked on, only weakly referenced by this bus
+	 * @param priority {@link EventPriority} for this listener
+	 * @param handler  Callback to invoke with the owner when a matching event is received
+	 * @param <O>      The type of the owner
+	 * @param <T>      The {@link Event} subclass to listen for
+	 * @see #addWeakListener(Object, BiConsumer)
+	 */
+	default <O, T extends Event> void addWeakListener(O owner, EventPriority priority, BiConsumer<? super O, T> handler) {
+		throw new UnsupportedOperationException("Weak listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a listener that holds its owner weakly, with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * @param owner            The object the handler is invoked on, only weakly referenced by this bus
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param handler          Callback to invoke with the owner when a matching event is received
+	 * @param <O>              The type of the owner
+	 * @param <T>              The {@link Event} subclass to listen for
+	 * @see #addWeakListener(Object, BiConsumer)
+	 */
+	default <O, T extends Event> void addWeakListener(O owner, EventPriority priority, boolean receiveCancelled, BiConsumer<? super O, T> handler) {
+		throw new UnsupportedOperationException("Weak listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a listener that holds its owner weakly, with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * <p>Use this method when one of the other methods fails to determine the concrete {@link Event} subclass that is
+	 * intended to be subscribed to.
+	 *
+	 * @param owner            The object the handler is invoked on, only weakly referenced by this bus
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param eventType        The concrete {@link Event} subclass to subscribe to
+	 * @param handler          Callback to invoke with the owner when a matching event is received
+	 * @param <O>              The type of the owner
+	 * @param <T>              The {@link Event} subclass to listen for
+	 * @see #addWeakListener(Object, BiConsumer)
+	 */
+	default <O, T extends Event> void addWeakListener(O owner, EventPriority priority, boolean receiveCancelled, Class<T> eventType, BiConsumer<? super O, T> handler) {
+		throw new UnsupportedOperationException("Weak listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a consumer listener that is only invoked as often as the given throttle allows, with
+	 * {@link EventPriority#NORMAL} and not receiving cancelled events.
+	 *
+	 * <p>The throttle is checked right before the consumer would be invoked, so skipped events only cost a counter
+	 * update, plus a clock read for rate limits. The listener is removed by passing the consumer to
+	 * {@link #unregister(Object)}.
+	 *
+	 * @param throttle How often the consumer may be invoked
+	 * @param consumer Callback to invoke when a matching event is received and passes the throttle
+	 * @param <T>      The {@link Event} subclass to listen for
+	 */
+	default <T extends Event> void addThrottledListener(ListenerThrottle throttle, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Throttled listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a throttled consumer listener with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * <p>Use this method when the other method fails to determine the concrete {@link Event} subclass that is
+	 * intended to be subscribed to.
+	 *
+	 * @param throttle         How often the consumer may be invoked
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param eventType        The concrete {@link Event} subclass to subscribe to
+	 * @param consumer         Callback to invoke when a matching event is received and passes the throttle
+	 * @param <T>              The {@link Event} subclass to listen for
+	 * @see #addThrottledListener(ListenerThrottle, Consumer)
+	 */
+	default <T extends Event> void addThrottledListener(ListenerThrottle throttle, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		throw new UnsupportedOperationException("Throttled listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add a consumer listener receiving every event that implements the given interface, such as {@link IGenericEvent},
+	 * with {@link EventPriority#NORMAL} and not receiving cancelled events.
+	 *
+	 * <p>The interface is matched against each concrete event class once, when the listeners of that class are
+	 * gathered for dispatch, so posting costs the same as if the listener had been added to every implementing class.
+	 * Within a priority, listeners added for the event class itself run first, then the ones added for the interfaces
+	 * it implements, then the ones of its superclass.
+	 *
+	 * @param interfaceType The interface to subscribe to
+	 * @param consumer      Callback to invoke when a matching event is received
+	 * @param <I>           The interface type
+	 */
+	default <I> void addInterfaceListener(Class<I> interfaceType, Consumer<? super I> consumer) {
+		throw new UnsupportedOperationException("Interface listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add an interface listener with the specified {@link EventPriority} and not receiving cancelled events.
+	 *
+	 * @param interfaceType The interface to subscribe to
+	 * @param priority      {@link EventPriority} for this listener
+	 * @param consumer      Callback to invoke when a matching event is received
+	 * @param <I>           The interface type
+	 * @see #addInterfaceListener(Class, Consumer)
+	 */
+	default <I> void addInterfaceListener(Class<I> interfaceType, EventPriority priority, Consumer<? super I> consumer) {
+		throw new UnsupportedOperationException("Interface listeners aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Add an interface listener with the specified {@link EventPriority} and potentially cancelled events.
+	 *
+	 * @param interfaceType    The interface to subscribe to
+	 * @param priority         {@link EventPriority} for this listener
+	 * @param receiveCancelled Indicate if this listener should receive events that have been {@link Event#isCanceled() cancelled}
+	 * @param consumer         Callback to invoke when a matching event is received
+	 * @param <I>              The interface type
+	 * @see #addInterfaceListener(Class, Consumer)
+	 */
+	default <I> void addInterfaceListener(Class<I> interfaceType, EventPriority priority, boolean receiveCancelled, Consumer<? super I> consumer) {
+		throw new UnsupportedOperationException("Interface listeners aren't supported by " + getClass().getName());
+	}
+
 	/**
 	 * Unregister the supplied listener from this EventBus.
 	 *
@@ -139,11 +360,164 @@ public interface IEventBus {
 	/**
 	 * Submit the event for dispatch to appropriate listeners.
 	 *
+	 * <p>If the listeners of a {@link Event#isDeferrable() deferrable} event are deferred, the returned state is
+	 * provisional, as the listeners left for the next {@link #drain(long)} may still cancel the event.
+	 *
 	 * @param event The event to dispatch to listeners
-	 * @return true if the event was {@link Event#isCanceled() cancelled}
+	 * @return true if the event was {@link Event#isCanceled() cancelled} by the listeners invoked so far
 	 */
 	boolean post(Event event);
 
+	/**
+	 * Checks whether posting an event of the given class would currently reach any listener.
+	 *
+	 * <p>This is backed by the same snapshot {@link #post(Event)} dispatches from, so it is cheap enough to call
+	 * before constructing expensive events.
+	 *
+	 * @param eventType The exact {@link Event} subclass that would be posted
+	 * @return true if this bus is running and at least one listener is registered for the event or one of its parents
+	 */
+	default boolean hasListeners(Class<? extends Event> eventType) {
+		return true;
+	}
+
+	/**
+	 * Checks whether posting a generic event of the given class and generic type would currently reach any listener.
+	 *
+	 * <p>Generic listeners filtered for a different type are not counted.
+	 *
+	 * @param eventType   The exact {@link Event} subclass that would be posted
+	 * @param genericType The {@link IGenericEvent#getGenericType() generic type} of the event that would be posted
+	 * @return true if this bus is running and at least one listener would receive the event
+	 */
+	default boolean hasListeners(Class<? extends Event> eventType, Type genericType) {
+		return true;
+	}
+
+	/**
+	 * Submit an event for dispatch, constructing it only if there are listeners to receive it.
+	 *
+	 * @param eventType The exact {@link Event} subclass that the factory creates
+	 * @param factory   Creates the event to dispatch, not invoked if {@link #hasListeners(Class)} is false
+	 * @param <T>       The {@link Event} subclass to post
+	 * @return true if the event was constructed and {@link Event#isCanceled() cancelled}
+	 */
+	default <T extends Event> boolean post(Class<T> eventType, Supplier<? extends T> factory) {
+		return post(factory.get());
+	}
+
+	/**
+	 * Submit a generic event for dispatch, constructing it only if there are listeners to receive it.
+	 *
+	 * @param eventType   The exact {@link Event} subclass that the factory creates
+	 * @param genericType The {@link IGenericEvent#getGenericType() generic type} of the created event
+	 * @param factory     Creates the event to dispatch, not invoked if {@link #hasListeners(Class, Type)} is false
+	 * @param <T>         The generic {@link Event} subclass to post
+	 * @return true if the event was constructed and {@link Event#isCanceled() cancelled}
+	 */
+	default <T extends Event & IGenericEvent<?>> boolean post(Class<T> eventType, Type genericType, Supplier<? extends T> factory) {
+		return post(factory.get());
+	}
+
+	/**
+	 * Builds the dispatch tables of the given event classes ahead of their first post, so that the first post of
+	 * each class doesn't pay for creating its listener list and snapshot. The classes are set up in parallel on the
+	 * common fork-join pool, and this returns once all of them are done.
+	 *
+	 * <p>Tables are rebuilt as usual when listeners change afterwards, so this is best called once registration is
+	 * done. Interfaces of {@link #addInterfaceListener interface listeners} may be passed as well.
+	 *
+	 * @param eventTypes The event classes to prepare
+	 */
+	default void prewarm(Collection<? extends Class<?>> eventTypes) {
+	}
+
+	/**
+	 * Builds the dispatch tables of the event classes loaded so far that this bus already uses, see
+	 * {@link #prewarm(Collection)}. These are the classes that listeners were added for or that were posted on this
+	 * bus, along with their superclasses, and the loaded subclasses and implementations of any of them.
+	 */
+	default void prewarm() {
+	}
+
+	/**
+	 * Freezes the listeners of this bus, for once all of them have been registered.
+	 *
+	 * <p>The dispatch table of every event class loaded so far is built and pinned, so posting no longer checks
+	 * whether the listeners changed. Afterwards, adding or unregistering listeners throws an
+	 * {@link IllegalStateException}, and the listeners of collected {@link #addWeakListener weak owners} are no
+	 * longer removed. Freezing a frozen bus does nothing.
+	 */
+	default void freeze() {
+		throw new UnsupportedOperationException("Frozen buses aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * @return true if {@link #freeze()} was called on this bus
+	 */
+	default boolean isFrozen() {
+		return false;
+	}
+
+	/**
+	 * Creates a child bus inheriting the listeners of this bus, for listeners that only live as long as a world,
+	 * player or session. See {@link IScopedEventBus}.
+	 *
+	 * @return A new scope, to be {@link IScopedEventBus#close() closed} once it is no longer needed
+	 */
+	default IScopedEventBus createScope() {
+		throw new UnsupportedOperationException("Scopes aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Adds every listener that the given action registers on this bus, directly or through
+	 * {@link #register(Object) registrars}, to a listener group. Listeners of a group are skipped while the group is
+	 * {@link #setGroupEnabled disabled} on this bus. When groups are nested, listeners join all of them.
+	 *
+	 * @param group        The group the listeners join
+	 * @param registration Registers the listeners on the bus it is passed, which is this bus
+	 */
+	default void registerInGroup(ListenerGroup group, Consumer<? super IEventBus> registration) {
+		throw new UnsupportedOperationException("Listener groups aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * Enables or disables the listeners of a group on this bus. This is a single atomic update, so unlike
+	 * unregistering and registering them again it is cheap and nothing is rebuilt. It also works on
+	 * {@link #freeze() frozen} buses. Disabled listeners still take their place in the dispatch array, but return right
+	 * away when invoked.
+	 *
+	 * @param group   The group to toggle
+	 * @param enabled Whether the listeners of the group should be invoked
+	 */
+	default void setGroupEnabled(ListenerGroup group, boolean enabled) {
+		throw new UnsupportedOperationException("Listener groups aren't supported by " + getClass().getName());
+	}
+
+	/**
+	 * @param group The group to check
+	 * @return Whether the listeners of the group are invoked on this bus, which they are by default
+	 */
+	default boolean isGroupEnabled(ListenerGroup group) {
+		return true;
+	}
+
+	/**
+	 * Returns the channel of this bus for the given signal key, creating it on first use. Signals are a lightweight
+	 * alternative to events for very frequent notifications, see {@link ISignal}.
+	 *
+	 * <p>The channel should be kept rather than looked up on every fire. Firing on a bus that is shut down does
+	 * nothing, and listeners can't be changed once the bus is frozen. Composite buses return a channel firing the
+	 * channels of all their members, adding listeners to the bus their listeners are added to.
+	 *
+	 * @param key The key of the channel
+	 * @param <S> The type of the channel
+	 * @return The channel of this bus
+	 */
+	default <S extends ISignal> S getSignal(SignalKey<S> key) {
+		throw new UnsupportedOperationException("Signal channels aren't supported by " + getClass().getName());
+	}
+
 	/**
 	 * Shuts down this event bus.
 	 *
@@ -151,5 +525,26 @@ public interface IEventBus {
 	 */
 	void shutdown();
 
+	/**
+	 * Resumes the posts of {@link Event#isDeferrable() deferrable} events that ran out of their
+	 * {@link BusBuilder#setDeferralBudget(long) deferral budget}, oldest first, until the given budget is exhausted.
+	 * The budget is checked between priority bands, so a drain makes progress even with a budget of 0.
+	 *
+	 * <p>Deferred posts are dropped once one of their listeners throws, after the exception handler was called.
+	 *
+	 * @param budgetNanos How long to drain for, in nanoseconds
+	 * @return The number of deferred posts still pending
+	 */
+	default int drain(long budgetNanos) {
+		return 0;
+	}
+
+	/**
+	 * @return How often and how long posts were deferred on this bus
+	 */
+	default DeferralStats getDeferralStats() {
+		return DeferralStats.EMPTY;
+	}
+
 	void start();
 }
@@ -0,0 +1,15 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * Supplies event registrars for a set of classes, usually generated from {@link SubscribeEvent} annotations.
+ *
+ * <p>Providers are found with {@link java.util.ServiceLoader} by {@link EventRegistrarRegistry#registerProviders}.
+ */
+public interface IEventRegistrarProvider {
+	/**
+	 * Registers the static and instance registrars of the classes this provider covers.
+	 *
+	 * @param registry The registry to add the registrars to
+	 */
+	void registerAll(EventRegistrarRegistry registry);
+}
@@ -0,0 +1,35 @@
+package net.minecraftforge.eventbus.api;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A signal channel carrying an {@code int}.
+ */
+public interface IIntSignal extends ISignal {
+	/**
+	 * Add a listener with {@link EventPriority#NORMAL}.
+	 *
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	default void addListener(IntConsumer listener) {
+		addListener(EventPriority.NORMAL, listener);
+	}
+
+	/**
+	 * @param priority {@link EventPriority} for this listener
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	void addListener(EventPriority priority, IntConsumer listener);
+
+	/**
+	 * @param listener The listener to remove, compared by identity. If it was added several times, only the first is removed
+	 */
+	void removeListener(IntConsumer listener);
+
+	/**
+	 * Invokes every listener with the given value.
+	 *
+	 * @param value The payload of the signal
+	 */
+	void fire(int value);
+}
@@ -0,0 +1,35 @@
+package net.minecraftforge.eventbus.api;
+
+import java.util.function.LongConsumer;
+
+/**
+ * A signal channel carrying a {@code long}.
+ */
+public interface ILongSignal extends ISignal {
+	/**
+	 * Add a listener with {@link EventPriority#NORMAL}.
+	 *
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	default void addListener(LongConsumer listener) {
+		addListener(EventPriority.NORMAL, listener);
+	}
+
+	/**
+	 * @param priority {@link EventPriority} for this listener
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	void addListener(EventPriority priority, LongConsumer listener);
+
+	/**
+	 * @param listener The listener to remove, compared by identity. If it was added several times, only the first is removed
+	 */
+	void removeListener(LongConsumer listener);
+
+	/**
+	 * Invokes every listener with the given value.
+	 *
+	 * @param value The payload of the signal
+	 */
+	void fire(long value);
+}
@@ -0,0 +1,38 @@
+package net.minecraftforge.eventbus.api;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A signal channel carrying an object along with an {@code int}, such as a world and a packed block position.
+ *
+ * @param <T> The type of the object
+ */
+public interface IObjIntSignal<T> extends ISignal {
+	/**
+	 * Add a listener with {@link EventPriority#NORMAL}.
+	 *
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	default void addListener(ObjIntConsumer<? super T> listener) {
+		addListener(EventPriority.NORMAL, listener);
+	}
+
+	/**
+	 * @param priority {@link EventPriority} for this listener
+	 * @param listener Callback to invoke when the signal fires
+	 */
+	void addListener(EventPriority priority, ObjIntConsumer<? super T> listener);
+
+	/**
+	 * @param listener The listener to remove, compared by identity. If it was added several times, only the first is removed
+	 */
+	void removeListener(ObjIntConsumer<? super T> listener);
+
+	/**
+	 * Invokes every listener with the given values.
+	 *
+	 * @param object The object of the signal
+	 * @param value  The value of the signal
+	 */
+	void fire(T object, int value);
+}
@@ -0,0 +1,23 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * A short-lived child of another bus, such as one per world, player or session, created by
+ * {@link IEventBus#createScope()}.
+ *
+ * <p>Events posted to a scope reach the listeners of its parents and its own listeners in a single pass, ordered
+ * by priority, with the inherited listeners first within each priority. Listeners added to a scope are only
+ * invoked for events posted to the scope or to its own scopes, and events posted to the parent don't reach them.
+ *
+ * <p>Creating and closing a scope only costs time in proportion to its own listeners.
+ */
+public interface IScopedEventBus extends IEventBus, AutoCloseable {
+	/**
+	 * Removes the listeners of this scope and shuts it down. Nested scopes stop receiving the listeners of this
+	 * scope, but must be closed on their own.
+	 *
+	 * <p>Must not be called while listeners are being added to this scope on other threads. Adding listeners
+	 * afterwards throws an {@link IllegalStateException}.
+	 */
+	@Override
+	void close();
+}
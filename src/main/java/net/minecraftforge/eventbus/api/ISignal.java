@@ -0,0 +1,21 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * A channel of an event bus for signals that fire too often to allocate an {@link Event} for each, such as tick
+ * counters or block updates. Channels are looked up with {@link IEventBus#getSignal(SignalKey)}.
+ *
+ * <p>Listeners are invoked in {@link EventPriority} order, and in the order they were added within a priority.
+ * Firing a signal allocates nothing and boxes nothing, but signals have no phases, can't be cancelled and aren't
+ * passed to the exception handler of the bus, exceptions thrown by listeners are passed on to the caller.
+ */
+public interface ISignal {
+	/**
+	 * @return The key this channel was looked up with
+	 */
+	SignalKey<?> getKey();
+
+	/**
+	 * @return Whether firing this signal would reach any listener, so that callers can skip computing the payload
+	 */
+	boolean hasListeners();
+}
@@ -0,0 +1,65 @@
+package net.minecraftforge.eventbus.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A named set of listeners, such as the ones of a mod or feature, that can be disabled and enabled again on a bus
+ * without unregistering them. See {@link IEventBus#registerInGroup}.
+ *
+ * <p>Each group owns one bit of a mask, so at most 64 groups can exist. Groups are shared by all buses and looked
+ * up by name.
+ */
+public final class ListenerGroup {
+	private static final int MAX_GROUPS = Long.SIZE;
+	private static final Map<String, ListenerGroup> groups = new ConcurrentHashMap<>();
+	// The next free bit, groups with different names may be created concurrently
+	private static final AtomicInteger nextBit = new AtomicInteger();
+
+	private final String name;
+	private final long mask;
+
+	private ListenerGroup(String name, int bit) {
+		this.name = name;
+		this.mask = 1L << bit;
+	}
+
+	/**
+	 * @param name The name of the group
+	 * @return The group with the given name, created on first use
+	 * @throws IllegalStateException If the group doesn't exist yet and all 64 groups are taken
+	 */
+	public static ListenerGroup named(String name) {
+		return groups.computeIfAbsent(name, key -> {
+			int bit;
+
+			// Never counts past the last bit, so failed attempts can't wrap the counter around to a negative bit
+			do {
+				bit = nextBit.get();
+
+				if (bit >= MAX_GROUPS) {
+					throw new IllegalStateException("Can't create listener group " + key + ", all " + MAX_GROUPS + " groups are taken");
+				}
+			} while (!nextBit.compareAndSet(bit, bit + 1));
+
+			return new ListenerGroup(key, bit);
+		});
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The bit of this group in the masks that buses keep their disabled groups in
+	 */
+	public long getMask() {
+		return mask;
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerGroup{" + name + "}";
+	}
+}
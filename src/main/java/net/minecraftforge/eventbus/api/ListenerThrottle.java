@@ -0,0 +1,70 @@
+package net.minecraftforge.eventbus.api;
+
+/**
+ * Limits how often a listener added through {@link IEventBus#addThrottledListener} is invoked, for listeners such
+ * as diagnostics that only need a sample of a hot event.
+ *
+ * <p>A throttle can sample every nth matching event, limit the invocations per second, or both, in which case
+ * the rate limit applies to the sampled events. Events filtered out by the listener's generic type, key or
+ * cancellation state don't count.
+ */
+public final class ListenerThrottle {
+	private final int sampleEvery;
+	private final int maxPerSecond;
+
+	private ListenerThrottle(int sampleEvery, int maxPerSecond) {
+		this.sampleEvery = sampleEvery;
+		this.maxPerSecond = maxPerSecond;
+	}
+
+	/**
+	 * @param every Invoke the listener for one in this many events
+	 * @return A throttle only passing every nth event on
+	 */
+	public static ListenerThrottle sampled(int every) {
+		if (every < 1) {
+			throw new IllegalArgumentException("Sampling ratio must be at least 1: " + every);
+		}
+
+		return new ListenerThrottle(every, 0);
+	}
+
+	/**
+	 * @param maxPerSecond The most invocations of the listener per second
+	 * @return A throttle passing at most the given number of events on per second
+	 */
+	public static ListenerThrottle perSecond(int maxPerSecond) {
+		return sampled(1).withRateLimit(maxPerSecond);
+	}
+
+	/**
+	 * @param maxPerSecond The most invocations of the listener per second
+	 * @return A throttle additionally limiting the sampled events to the given number per second
+	 */
+	public ListenerThrottle withRateLimit(int maxPerSecond) {
+		if (maxPerSecond < 1) {
+			throw new IllegalArgumentException("Rate limit must be at least 1: " + maxPerSecond);
+		}
+
+		return new ListenerThrottle(sampleEvery, maxPerSecond);
+	}
+
+	/**
+	 * @return The listener is invoked for one in this many events, 1 if it isn't sampled
+	 */
+	public int getSampleEvery() {
+		return sampleEvery;
+	}
+
+	/**
+	 * @return The most invocations per second, 0 if unlimited
+	 */
+	public int getMaxPerSecond() {
+		return maxPerSecond;
+	}
+
+	@Override
+	public String toString() {
+		return "ListenerThrottle{sampleEvery=" + sampleEvery + ", maxPerSecond=" + maxPerSecond + "}";
+	}
+}
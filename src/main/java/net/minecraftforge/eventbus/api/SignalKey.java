@@ -0,0 +1,74 @@
+package net.minecraftforge.eventbus.api;
+
+import java.util.Objects;
+
+/**
+ * Identifies a signal channel and the type of its payload, much like an event class identifies the listeners of an
+ * event. Keys are compared by identity, so they should be kept in constants shared by the code firing the signal
+ * and its listeners:
+ *
+ * <pre>
+ * public static final SignalKey&lt;IIntSignal&gt; SERVER_TICK = SignalKey.ofInt("server_tick");
+ *
+ * bus.getSignal(SERVER_TICK).addListener(tick -&gt; ...);
+ * bus.getSignal(SERVER_TICK).fire(tickCount);
+ * </pre>
+ *
+ * @param <S> The type of the channel
+ */
+public final class SignalKey<S extends ISignal> {
+	private final String name;
+	private final Kind kind;
+
+	private SignalKey(String name, Kind kind) {
+		this.name = Objects.requireNonNull(name, "name");
+		this.kind = kind;
+	}
+
+	/**
+	 * @param name A name describing the signal, only used for debugging
+	 * @return A new key of a channel carrying an {@code int}
+	 */
+	public static SignalKey<IIntSignal> ofInt(String name) {
+		return new SignalKey<>(name, Kind.INT);
+	}
+
+	/**
+	 * @param name A name describing the signal, only used for debugging
+	 * @return A new key of a channel carrying a {@code long}
+	 */
+	public static SignalKey<ILongSignal> ofLong(String name) {
+		return new SignalKey<>(name, Kind.LONG);
+	}
+
+	/**
+	 * @param name A name describing the signal, only used for debugging
+	 * @param <T>  The type of the object carried along with the {@code int}
+	 * @return A new key of a channel carrying an object and an {@code int}
+	 */
+	public static <T> SignalKey<IObjIntSignal<T>> ofObjInt(String name) {
+		return new SignalKey<>(name, Kind.OBJ_INT);
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Kind getKind() {
+		return kind;
+	}
+
+	@Override
+	public String toString() {
+		return "SignalKey{" + name + ", " + kind + "}";
+	}
+
+	/**
+	 * The payload of a signal, telling bus implementations which kind of channel to create for a key.
+	 */
+	public enum Kind {
+		INT,
+		LONG,
+		OBJ_INT
+	}
+}
@@ -0,0 +1,34 @@
+package net.minecraftforge.eventbus.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a method as an event handler for the optional {@code event-racecar-processor} annotation processor.
+ *
+ * <p>Unlike in Forge, the annotation is never read at runtime. The processor generates an
+ * {@link IEventRegistrarProvider} for each class with annotated methods, which registers its static handlers with
+ * {@link EventRegistrarRegistry#registerStatic} and its instance handlers with
+ * {@link EventRegistrarRegistry#registerInstance}. The generated code passes the event type explicitly, so the
+ * listeners are added without resolving lambda types at runtime.
+ *
+ * <p>Annotated methods must not be private, must return void and must take a single {@link Event} parameter.
+ * For generic events, the type argument of the parameter becomes the generic filter of the listener.
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.METHOD)
+public @interface SubscribeEvent {
+	/**
+	 * @return The {@link EventPriority} of the listener
+	 */
+	EventPriority priority() default EventPriority.NORMAL;
+
+	/**
+	 * @return Whether the listener receives events that have been {@link Event#isCanceled() cancelled}
+	 */
+	boolean receiveCanceled() default false;
+}
@@ -0,0 +1,37 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraftforge.eventbus.CausalTracer;
+import net.minecraftforge.eventbus.api.Event;
+import org.junit.jupiter.api.Test;
+
+public class CausalTracerTest {
+	private static final int BUS = 0;
+
+	/**
+	 * Observers combining the tracer with others may call it without checking that it is enabled.
+	 */
+	@Test
+	public void postsStartedWhileDisabledAreNotTraced() {
+		final CausalTracer tracer = new CausalTracer(16);
+		final Event outer = new TestEvent();
+		final Event nested = new TestEvent();
+
+		tracer.onPostStarted(BUS, outer, 1);
+		tracer.onPostFinished(BUS, outer, 1, 1, false);
+		assertTrue(tracer.getTrees().isEmpty(), "Nothing traced while disabled");
+
+		tracer.onPostStarted(BUS, outer, 1);
+		tracer.setEnabled(true);
+		tracer.onPostStarted(BUS, nested, 1);
+		tracer.onPostFinished(BUS, nested, 1, 1, false);
+		tracer.onPostFinished(BUS, outer, 1, 2, false);
+		assertEquals(1, tracer.getTrees().size(), "Only the post started while enabled is traced");
+		assertEquals(0, tracer.getTrees().get(0).getDescendantCount());
+	}
+
+	public static class TestEvent extends Event {
+	}
+}
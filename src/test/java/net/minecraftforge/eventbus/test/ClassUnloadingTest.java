@@ -0,0 +1,134 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import net.minecraftforge.eventbus.EventBusDiagnostics;
+import net.minecraftforge.eventbus.ListenerList;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class ClassUnloadingTest {
+	private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+	private static final String DROPPED_EVENT = DroppedEvent.class.getName();
+
+	/**
+	 * The bus outlives the event class, as a long-lived bus would when a plugin defining its own events is unloaded.
+	 */
+	@Test
+	public void listsOfUnloadedEventsAreCollected() throws Exception {
+		final IEventBus bus = BusBuilder.builder().build();
+		final References references = useDroppedEvent(bus);
+
+		assertTrue(hasEntry(bus), "Instance of the list reported while the class is loaded");
+
+		final long deadline = System.nanoTime() + TIMEOUT_NANOS;
+
+		while (references.list.get() != null && System.nanoTime() - deadline < 0) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertNull(references.loader.get(), "Class loader collected");
+		assertNull(references.list.get(), "Listener list collected");
+		assertFalse(hasEntry(bus), "Instance of the list no longer reported");
+	}
+
+	/**
+	 * Loads the event in a throwaway class loader, adds, invokes and removes a listener for it, all in a method of
+	 * its own so that no local variable keeps the class reachable.
+	 */
+	@SuppressWarnings("unchecked")
+	private static References useDroppedEvent(IEventBus bus) throws ReflectiveOperationException {
+		final ThrowawayClassLoader loader = new ThrowawayClassLoader(ClassUnloadingTest.class.getClassLoader());
+		final Class<Event> eventClass = (Class<Event>) loader.loadClass(DROPPED_EVENT);
+		assertNotSame(DroppedEvent.class, eventClass, "Defined by the throwaway loader");
+
+		final int[] invoked = new int[1];
+		final Consumer<Event> listener = event -> invoked[0]++;
+		bus.addListener(EventPriority.NORMAL, false, eventClass, listener);
+		bus.post(eventClass.getConstructor().newInstance());
+		assertEquals(1, invoked[0], "Listener invoked");
+		bus.unregister(listener);
+
+		return new References(loader, EventListenerHelper.getListenerList(eventClass));
+	}
+
+	private static boolean hasEntry(IEventBus bus) {
+		return EventBusDiagnostics.capture(bus).getEntries().stream().anyMatch(entry -> entry.getEventClass().equals(DROPPED_EVENT));
+	}
+
+	private static final class References {
+		final WeakReference<ClassLoader> loader;
+		final WeakReference<ListenerList> list;
+
+		References(ClassLoader loader, ListenerList list) {
+			this.loader = new WeakReference<>(loader);
+			this.list = new WeakReference<>(list);
+		}
+	}
+
+	/**
+	 * Defines its own copy of {@link DroppedEvent}, delegating every other class to the test's class loader.
+	 */
+	private static final class ThrowawayClassLoader extends ClassLoader {
+		ThrowawayClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(DROPPED_EVENT)) {
+				return super.loadClass(name, resolve);
+			}
+
+			synchronized (getClassLoadingLock(name)) {
+				final Class<?> loaded = findLoadedClass(name);
+
+				if (loaded != null) {
+					return loaded;
+				}
+
+				final byte[] bytes = readClass(name);
+				return defineClass(name, bytes, 0, bytes.length);
+			}
+		}
+
+		private byte[] readClass(String name) throws ClassNotFoundException {
+			try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+				if (in == null) {
+					throw new ClassNotFoundException(name);
+				}
+
+				final ByteArrayOutputStream out = new ByteArrayOutputStream();
+				final byte[] buffer = new byte[4096];
+				int read;
+
+				while ((read = in.read(buffer)) >= 0) {
+					out.write(buffer, 0, read);
+				}
+
+				return out.toByteArray();
+			} catch (IOException e) {
+				throw new ClassNotFoundException(name, e);
+			}
+		}
+	}
+
+	public static class DroppedEvent extends Event {
+	}
+}
@@ -0,0 +1,127 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import net.minecraftforge.eventbus.CompositeEventBus;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IIntSignal;
+import net.minecraftforge.eventbus.api.IScopedEventBus;
+import net.minecraftforge.eventbus.api.SignalKey;
+import org.junit.jupiter.api.Test;
+
+public class CompositeEventBusTest {
+	@Test
+	public void postsUseTheFirstMembersSettings() {
+		final List<String> observed = new ArrayList<>();
+		final AtomicReference<IEventBus> failedOn = new AtomicReference<>();
+		final IEventBus first = BusBuilder.builder()
+				.setTrackPhases(false)
+				.setObserver(new RecordingObserver(observed))
+				.setExceptionHandler((bus, event, listeners, index, throwable) -> failedOn.set(bus))
+				.build();
+		final IEventBus second = BusBuilder.builder().build();
+		final IEventBus composite = new CompositeEventBus(first, second);
+		final AtomicReference<EventPriority> phase = new AtomicReference<>();
+
+		second.addListener(EventPriority.NORMAL, false, TestEvent.class, event -> phase.set(event.getPhase()));
+		composite.post(new TestEvent());
+		assertEquals(1, observed.size(), "Observer of the first member");
+		assertNull(phase.get(), "Phases aren't tracked by the first member");
+
+		second.addListener(EventPriority.LOW, false, TestEvent.class, event -> {
+			throw new IllegalStateException();
+		});
+		assertThrows(IllegalStateException.class, () -> composite.post(new TestEvent()));
+		assertSame(composite, failedOn.get(), "Exception handler of the first member");
+	}
+
+	@Test
+	public void scopesUseTheirParentsSettings() {
+		final List<String> observed = new ArrayList<>();
+		final IEventBus parent = BusBuilder.builder().setObserver(new RecordingObserver(observed)).build();
+
+		try (IScopedEventBus scope = parent.createScope()) {
+			scope.addListener(EventPriority.NORMAL, false, TestEvent.class, event -> { });
+			scope.post(new TestEvent());
+		}
+
+		assertEquals(1, observed.size());
+	}
+
+	@Test
+	public void signalsReachEveryMember() {
+		final IEventBus first = BusBuilder.builder().build();
+		final IEventBus second = BusBuilder.builder().build();
+		final IEventBus composite = new CompositeEventBus(first, second);
+		final SignalKey<IIntSignal> key = SignalKey.ofInt("test");
+		final List<String> fired = new ArrayList<>();
+
+		second.getSignal(key).addListener(EventPriority.HIGHEST, value -> fired.add("second " + value));
+		composite.getSignal(key).addListener(value -> fired.add("composite " + value));
+		assertTrue(composite.getSignal(key).hasListeners());
+
+		composite.getSignal(key).fire(1);
+		first.getSignal(key).fire(2);
+		assertEquals(Arrays.asList("second 1", "composite 1", "composite 2"), fired, "Fired in priority order, added to the first member");
+	}
+
+	/**
+	 * The listeners of a scope and its parent are invoked in one priority order, which follows later changes to either.
+	 */
+	@Test
+	public void signalsOfScopesInterleaveWithTheirParentByPriority() {
+		final IEventBus parent = BusBuilder.builder().build();
+		final SignalKey<IIntSignal> key = SignalKey.ofInt("test");
+		final List<String> fired = new ArrayList<>();
+		final IntConsumer parentHigh = value -> fired.add("parent high");
+
+		try (IScopedEventBus scope = parent.createScope()) {
+			parent.getSignal(key).addListener(EventPriority.LOWEST, value -> fired.add("parent lowest"));
+			parent.getSignal(key).addListener(EventPriority.NORMAL, value -> fired.add("parent normal"));
+			scope.getSignal(key).addListener(EventPriority.HIGHEST, value -> fired.add("scope highest"));
+			scope.getSignal(key).addListener(EventPriority.NORMAL, value -> fired.add("scope normal"));
+			scope.getSignal(key).fire(0);
+			assertEquals(Arrays.asList("scope highest", "parent normal", "scope normal", "parent lowest"), fired, "Inherited listeners first within a priority");
+
+			fired.clear();
+			parent.getSignal(key).addListener(EventPriority.HIGH, parentHigh);
+			scope.getSignal(key).fire(0);
+			assertEquals(Arrays.asList("scope highest", "parent high", "parent normal", "scope normal", "parent lowest"), fired, "Listener added to the parent");
+
+			fired.clear();
+			parent.getSignal(key).removeListener(parentHigh);
+			scope.getSignal(key).fire(0);
+			assertEquals(Arrays.asList("scope highest", "parent normal", "scope normal", "parent lowest"), fired, "Listener removed from the parent");
+		}
+	}
+
+	public static class TestEvent extends Event {
+	}
+
+	private static final class RecordingObserver implements IDispatchObserver {
+		private final List<String> observed;
+
+		private RecordingObserver(List<String> observed) {
+			this.observed = observed;
+		}
+
+		@Override
+		public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+			observed.add(event.getClass().getSimpleName());
+		}
+	}
+}
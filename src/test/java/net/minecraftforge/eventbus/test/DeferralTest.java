@@ -0,0 +1,85 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IDispatchObserver;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IEventListener;
+import org.junit.jupiter.api.Test;
+
+public class DeferralTest {
+	@Test
+	public void observersAreToldAboutDeferredListeners() {
+		final List<String> observed = new ArrayList<>();
+		// A budget of a nanosecond defers every band after the first
+		final IEventBus bus = BusBuilder.builder().setDeferralBudget(1).setObserver(new RecordingObserver(observed)).build();
+
+		bus.addListener(EventPriority.HIGH, false, TestEvent.class, event -> { });
+		bus.addListener(EventPriority.LOW, false, TestEvent.class, event -> event.setCanceled(true));
+
+		assertFalse(bus.post(new TestEvent()), "Provisional cancelled state");
+		assertEquals(1, bus.getDeferralStats().getPendingPosts());
+		assertEquals(0, bus.drain(Long.MAX_VALUE));
+		assertEquals(Arrays.asList("postStarted", "listener", "postDeferred", "postFinished false", "listener", "deferredFinished true"), observed);
+	}
+
+	public static class TestEvent extends Event {
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+
+		@Override
+		public boolean isDeferrable() {
+			return true;
+		}
+	}
+
+	private static final class RecordingObserver implements IDispatchObserver {
+		private final List<String> observed;
+
+		private RecordingObserver(List<String> observed) {
+			this.observed = observed;
+		}
+
+		@Override
+		public boolean observesListeners() {
+			return true;
+		}
+
+		@Override
+		public void onPostStarted(int busID, Event event, int listenerCount) {
+			observed.add("postStarted");
+		}
+
+		@Override
+		public void onListenerStarted(int busID, Event event, IEventListener listener) {
+			observed.add("listener");
+		}
+
+		@Override
+		public void onPostDeferred(int busID, Event event) {
+			observed.add("postDeferred");
+		}
+
+		@Override
+		public void onDeferredFinished(int busID, Event event, long dispatchNanos, boolean cancelled) {
+			assertTrue(dispatchNanos > 0, "Time spent draining");
+			observed.add("deferredFinished " + cancelled);
+		}
+
+		@Override
+		public void onPostFinished(int busID, Event event, int listenerCount, long dispatchNanos, boolean cancelled) {
+			observed.add("postFinished " + cancelled);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import net.minecraftforge.eventbus.api.DeferralStats;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that implementations of the original API keep working with the methods added to it since.
+ */
+public class EventBusDefaultsTest {
+	@Test
+	public void addedMethodsHaveDefaults() {
+		final OriginalBus bus = new OriginalBus();
+
+		assertTrue(bus.hasListeners(TestEvent.class), "Assumes listeners");
+		bus.post(TestEvent.class, TestEvent::new);
+		assertEquals(1, bus.posted.size(), "Supplier post delegates to post");
+
+		bus.prewarm();
+		assertEquals(0, bus.drain(0));
+		assertEquals(DeferralStats.EMPTY, bus.getDeferralStats());
+		assertThrows(UnsupportedOperationException.class, bus::freeze);
+		assertThrows(UnsupportedOperationException.class, () -> bus.addInterfaceListener(Runnable.class, Runnable::run));
+	}
+
+	public static class TestEvent extends Event {
+	}
+
+	private static final class OriginalBus implements IEventBus {
+		private final List<Event> posted = new ArrayList<>();
+
+		@Override
+		public void register(Object target) {
+		}
+
+		@Override
+		public <T extends Event> void addListener(Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends Event> void addListener(EventPriority priority, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends Event> void addListener(EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends Event> void addListener(EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, boolean receiveCancelled, Consumer<T> consumer) {
+		}
+
+		@Override
+		public <T extends GenericEvent<? extends F>, F> void addGenericListener(Class<F> genericClassFilter, EventPriority priority, boolean receiveCancelled, Class<T> eventType, Consumer<T> consumer) {
+		}
+
+		@Override
+		public void unregister(Object object) {
+		}
+
+		@Override
+		public boolean post(Event event) {
+			posted.add(event);
+			return false;
+		}
+
+		@Override
+		public void shutdown() {
+		}
+
+		@Override
+		public void start() {
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraftforge.eventbus.EventBusDiagnostics;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class EventBusDiagnosticsTest {
+	@Test
+	public void staleSnapshotsAreReportedAsMissing() {
+		final IEventBus bus = BusBuilder.builder().build();
+		bus.addListener(EventPriority.NORMAL, false, SubEvent.class, event -> { });
+		bus.post(new SubEvent());
+		final int built = snapshotSize(bus, SubEvent.class);
+		assertTrue(built > 0, "Built on post");
+
+		bus.addListener(EventPriority.NORMAL, false, BaseEvent.class, event -> { });
+		assertEquals(-1, snapshotSize(bus, SubEvent.class), "Stale after the superclass changed");
+
+		bus.post(new SubEvent());
+		assertTrue(snapshotSize(bus, SubEvent.class) > built, "Rebuilt with the inherited listener on post");
+
+		bus.addListener(EventPriority.HIGH, false, SubEvent.class, event -> { });
+		assertEquals(-1, snapshotSize(bus, SubEvent.class), "Stale after its own listeners changed");
+	}
+
+	private static int snapshotSize(IEventBus bus, Class<?> eventClass) {
+		return EventBusDiagnostics.capture(bus).getEntries().stream()
+				.filter(entry -> entry.getEventClass().equals(eventClass.getName()))
+				.findFirst().orElseThrow(AssertionError::new)
+				.getSnapshotSize();
+	}
+
+	public static class BaseEvent extends Event {
+	}
+
+	public static class SubEvent extends BaseEvent {
+	}
+}
@@ -0,0 +1,68 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import net.minecraftforge.eventbus.EventRecorder;
+import net.minecraftforge.eventbus.EventReplay;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EventRecorderTest {
+	private static final int THREADS = 4;
+	private static final int POSTS_PER_THREAD = 20_000;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void concurrentPostsAreAllCounted() throws Exception {
+		final Path path = directory.resolve("events.ring");
+		final EventRecorder recorder = EventRecorder.open(path, THREADS * POSTS_PER_THREAD);
+		final IEventBus bus = BusBuilder.builder().setObserver(recorder).build();
+		final CyclicBarrier start = new CyclicBarrier(THREADS);
+		final List<Thread> threads = new ArrayList<>();
+
+		for (int x = 0; x < THREADS; x++) {
+			final Thread thread = new Thread(() -> {
+				try {
+					start.await();
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+
+				for (int post = 0; post < POSTS_PER_THREAD; post++) {
+					bus.post(post % 2 == 0 ? new FirstEvent() : new SecondEvent());
+				}
+			});
+
+			thread.start();
+			threads.add(thread);
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		recorder.close();
+
+		assertEquals(THREADS * POSTS_PER_THREAD, EventReplay.load(path).size());
+		final Path classes = path.resolveSibling(path.getFileName() + ".classes");
+		assertEquals(2, Files.readAllLines(classes, StandardCharsets.UTF_8).size(), "Each class is written once");
+	}
+
+	public static class FirstEvent extends Event {
+	}
+
+	public static class SecondEvent extends Event {
+	}
+}
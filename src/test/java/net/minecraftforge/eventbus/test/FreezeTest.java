@@ -0,0 +1,55 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class FreezeTest {
+	private static final int ROUNDS = 200;
+
+	/**
+	 * Every listener that was added without an exception must be dispatched, even if the bus was frozen meanwhile.
+	 */
+	@Test
+	public void listenersAddedWhileFreezingAreDispatched() throws Exception {
+		for (int round = 0; round < ROUNDS; round++) {
+			final IEventBus bus = BusBuilder.builder().build();
+			final AtomicInteger added = new AtomicInteger();
+			final AtomicInteger invoked = new AtomicInteger();
+			final CountDownLatch started = new CountDownLatch(1);
+
+			bus.post(new TestEvent());
+
+			final Thread registering = new Thread(() -> {
+				started.countDown();
+
+				try {
+					while (true) {
+						bus.addListener(EventPriority.NORMAL, false, TestEvent.class, event -> invoked.incrementAndGet());
+						added.incrementAndGet();
+					}
+				} catch (IllegalStateException e) {
+					// Frozen
+				}
+			});
+
+			registering.start();
+			started.await();
+			bus.freeze();
+			registering.join();
+
+			bus.post(new TestEvent());
+			assertEquals(added.get(), invoked.get(), "Listeners dispatched in round " + round);
+		}
+	}
+
+	public static class TestEvent extends Event {
+	}
+}
@@ -0,0 +1,126 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class InterfaceListenerTest {
+	@Test
+	public void eventsListedBeforeTheListenerReceiveIt() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.NORMAL, false, ListedEarlyEvent.class, event -> invoked.add("class"));
+		bus.post(new ListedEarlyEvent());
+		bus.addInterfaceListener(Marker.class, event -> invoked.add("interface"));
+		bus.post(new ListedEarlyEvent());
+		assertEquals(Arrays.asList("class", "class", "interface"), invoked);
+	}
+
+	/**
+	 * The event class is only referenced by this test, so its list is first created by the post after the listener was added.
+	 */
+	@Test
+	public void eventsLoadedAfterTheListenerReceiveIt() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addInterfaceListener(Marker.class, event -> invoked.add(event.getClass().getSimpleName()));
+		bus.post(new LoadedLateEvent());
+		assertEquals(Collections.singletonList("LoadedLateEvent"), invoked);
+	}
+
+	@Test
+	public void subclassesAndSubinterfacesReceiveItOnce() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addInterfaceListener(Marker.class, event -> invoked.add(event.getClass().getSimpleName()));
+		bus.post(new MarkedEvent());
+		bus.post(new MarkedSubEvent());
+		bus.post(new RedeclaredEvent());
+		bus.post(new SubMarkedEvent());
+		bus.post(new UnmarkedEvent());
+		assertEquals(Arrays.asList("MarkedEvent", "MarkedSubEvent", "RedeclaredEvent", "SubMarkedEvent"), invoked);
+	}
+
+	/**
+	 * Within a priority, the listeners of the class run first, then the ones of its interfaces, then the ones of its superclass.
+	 */
+	@Test
+	public void interfaceAndClassListenersInterleaveByPriority() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.NORMAL, false, Event.class, event -> invoked.add("superclass normal"));
+		bus.addInterfaceListener(Marker.class, EventPriority.NORMAL, event -> invoked.add("interface normal"));
+		bus.addListener(EventPriority.NORMAL, false, MarkedEvent.class, event -> invoked.add("class normal"));
+		bus.addInterfaceListener(Marker.class, EventPriority.HIGHEST, event -> invoked.add("interface highest"));
+		bus.addListener(EventPriority.HIGH, false, MarkedEvent.class, event -> invoked.add("class high"));
+		bus.addInterfaceListener(Marker.class, EventPriority.LOWEST, event -> invoked.add("interface lowest"));
+		bus.addListener(EventPriority.LOW, false, MarkedEvent.class, event -> invoked.add("class low"));
+		bus.post(new MarkedEvent());
+		assertEquals(Arrays.asList(
+				"interface highest", "class high", "class normal", "interface normal", "superclass normal", "class low", "interface lowest"), invoked);
+	}
+
+	@Test
+	public void cancelledEventsOnlyReachInterfaceListenersReceivingThem() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGHEST, false, MarkedEvent.class, event -> event.setCanceled(true));
+		bus.addInterfaceListener(Marker.class, EventPriority.NORMAL, false, event -> invoked.add("skipping"));
+		bus.addInterfaceListener(Marker.class, EventPriority.NORMAL, true, event -> invoked.add("receiving"));
+		bus.post(new MarkedEvent());
+		assertEquals(Collections.singletonList("receiving"), invoked);
+	}
+
+	@Test
+	public void classesAreRejected() {
+		final IEventBus bus = BusBuilder.builder().build();
+
+		assertThrows(IllegalArgumentException.class, () -> bus.addInterfaceListener(MarkedEvent.class, event -> { }));
+	}
+
+	public interface Marker {
+	}
+
+	public interface SubMarker extends Marker {
+	}
+
+	public static class MarkedEvent extends Event implements Marker {
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+	}
+
+	public static class MarkedSubEvent extends MarkedEvent {
+	}
+
+	public static class RedeclaredEvent extends MarkedEvent implements Marker {
+	}
+
+	public static class SubMarkedEvent extends Event implements SubMarker {
+	}
+
+	public static class UnmarkedEvent extends Event {
+	}
+
+	public static class ListedEarlyEvent extends Event implements Marker {
+	}
+
+	public static class LoadedLateEvent extends Event implements Marker {
+	}
+}
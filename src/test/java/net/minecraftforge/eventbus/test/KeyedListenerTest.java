@@ -0,0 +1,102 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class KeyedListenerTest {
+	private static final Function<KeyedEvent, String> KEY = KeyedEvent::getKey;
+
+	@Test
+	public void listenersOfOtherKeysAreSkipped() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addKeyedListener(KEY, "a", EventPriority.NORMAL, false, KeyedEvent.class, event -> invoked.add("a"));
+		bus.addKeyedListener(KEY, "b", EventPriority.NORMAL, false, KeyedEvent.class, event -> invoked.add("b"));
+		bus.post(new KeyedEvent("b"));
+		bus.post(new KeyedEvent("c"));
+		assertEquals(Collections.singletonList("b"), invoked);
+	}
+
+	@Test
+	public void subclassEventsReachKeyedListenersOfTheirSuperclass() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addKeyedListener(KEY, "a", EventPriority.NORMAL, false, KeyedEvent.class, event -> invoked.add(event.getClass().getSimpleName()));
+		bus.post(new SubEvent("a"));
+		bus.post(new SubEvent("b"));
+		assertEquals(Collections.singletonList("SubEvent"), invoked);
+	}
+
+	@Test
+	public void keyedAndPlainListenersInterleaveByPriority() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.LOW, false, KeyedEvent.class, event -> invoked.add("plain low"));
+		bus.addKeyedListener(KEY, "a", EventPriority.HIGH, false, KeyedEvent.class, event -> invoked.add("keyed high"));
+		bus.addListener(EventPriority.HIGHEST, false, KeyedEvent.class, event -> invoked.add("plain highest"));
+		bus.addKeyedListener(KEY, "a", EventPriority.LOWEST, false, KeyedEvent.class, event -> invoked.add("keyed lowest"));
+		bus.addListener(EventPriority.NORMAL, false, KeyedEvent.class, event -> invoked.add("plain normal"));
+		bus.post(new KeyedEvent("a"));
+		assertEquals(Arrays.asList("plain highest", "keyed high", "plain normal", "plain low", "keyed lowest"), invoked);
+	}
+
+	@Test
+	public void unregisteredKeyedListenersLeaveTheIndex() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+		final Consumer<KeyedEvent> removed = event -> invoked.add("removed");
+
+		bus.addKeyedListener(KEY, "a", EventPriority.NORMAL, false, KeyedEvent.class, removed);
+		bus.addKeyedListener(KEY, "a", EventPriority.NORMAL, false, KeyedEvent.class, event -> invoked.add("kept"));
+		bus.post(new KeyedEvent("a"));
+		bus.unregister(removed);
+		bus.post(new KeyedEvent("a"));
+		assertEquals(Arrays.asList("removed", "kept", "kept"), invoked);
+
+		final IEventBus single = BusBuilder.builder().build();
+		final Consumer<OtherKeyedEvent> only = event -> invoked.add("only");
+		single.addKeyedListener(KEY, "a", EventPriority.NORMAL, false, OtherKeyedEvent.class, only);
+		single.unregister(only);
+		assertFalse(single.hasListeners(OtherKeyedEvent.class), "No listeners left");
+	}
+
+	public static class KeyedEvent extends Event {
+		private final String key;
+
+		public KeyedEvent(String key) {
+			this.key = key;
+		}
+
+		public String getKey() {
+			return key;
+		}
+	}
+
+	public static class SubEvent extends KeyedEvent {
+		public SubEvent(String key) {
+			super(key);
+		}
+	}
+
+	public static class OtherKeyedEvent extends KeyedEvent {
+		public OtherKeyedEvent(String key) {
+			super(key);
+		}
+	}
+}
@@ -0,0 +1,95 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraftforge.eventbus.api.ListenerGroup;
+import org.junit.jupiter.api.Test;
+
+public class ListenerGroupTest {
+	private static final int ROUNDS = 100;
+	private static final int GROUPS = 64;
+
+	/**
+	 * Groups are shared by the whole JVM, so each round creates all 64 of them in a fresh copy of the class.
+	 */
+	@Test
+	public void concurrentlyCreatedGroupsHaveDistinctBits() throws Exception {
+		final URL location = ListenerGroup.class.getProtectionDomain().getCodeSource().getLocation();
+
+		for (int round = 0; round < ROUNDS; round++) {
+			try (URLClassLoader loader = new URLClassLoader(new URL[] {location}, null)) {
+				final Class<?> type = loader.loadClass(ListenerGroup.class.getName());
+				final Method named = type.getMethod("named", String.class);
+				final Method getMask = type.getMethod("getMask");
+				final Object[] created = new Object[GROUPS];
+				final CountDownLatch start = new CountDownLatch(1);
+				final List<Thread> threads = new ArrayList<>();
+
+				for (int x = 0; x < GROUPS; x++) {
+					final int index = x;
+					final Thread thread = new Thread(() -> {
+						try {
+							start.await();
+							created[index] = named.invoke(null, "group" + index);
+						} catch (ReflectiveOperationException | InterruptedException e) {
+							throw new RuntimeException(e);
+						}
+					});
+					threads.add(thread);
+					thread.start();
+				}
+
+				start.countDown();
+				long masks = 0;
+
+				for (int x = 0; x < GROUPS; x++) {
+					threads.get(x).join();
+					masks |= (long) getMask.invoke(created[x]);
+				}
+
+				assertEquals(GROUPS, Long.bitCount(masks), "Distinct bits in round " + round);
+
+				final InvocationTargetException full = assertThrows(InvocationTargetException.class, () -> named.invoke(null, "group" + GROUPS));
+				assertEquals(IllegalStateException.class, full.getCause().getClass(), "All groups taken");
+			}
+		}
+	}
+
+	/**
+	 * Creating a group once all are taken must not advance the counter, or enough attempts would wrap it to a negative bit.
+	 */
+	@Test
+	public void failedCreationsLeaveTheCounterAtTheLastBit() throws Exception {
+		final URL location = ListenerGroup.class.getProtectionDomain().getCodeSource().getLocation();
+
+		try (URLClassLoader loader = new URLClassLoader(new URL[] {location}, null)) {
+			final Class<?> type = loader.loadClass(ListenerGroup.class.getName());
+			final Method named = type.getMethod("named", String.class);
+
+			for (int x = 0; x < GROUPS; x++) {
+				named.invoke(null, "group" + x);
+			}
+
+			for (int x = 0; x < 1000; x++) {
+				final int attempt = x;
+				final InvocationTargetException full = assertThrows(InvocationTargetException.class, () -> named.invoke(null, "extra" + attempt));
+				assertEquals(IllegalStateException.class, full.getCause().getClass(), "All groups taken");
+			}
+
+			final Field nextBit = type.getDeclaredField("nextBit");
+			nextBit.setAccessible(true);
+			assertEquals(GROUPS, ((AtomicInteger) nextBit.get(null)).get(), "Next bit after the failed attempts");
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.ListenerThrottle;
+import org.junit.jupiter.api.Test;
+
+public class ListenerThrottleTest {
+	// Longer than the one second windows of the rate limit
+	private static final long NEXT_WINDOW_MILLIS = 1100;
+
+	@Test
+	public void sampledListenersReceiveEveryNthEvent() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<Integer> invoked = new ArrayList<>();
+
+		bus.addThrottledListener(ListenerThrottle.sampled(3), EventPriority.NORMAL, false, CountedEvent.class, event -> invoked.add(event.number));
+		postRange(bus, 1, 10);
+		assertEquals(Arrays.asList(3, 6, 9), invoked);
+	}
+
+	@Test
+	public void filteredEventsAreNotSampled() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<Integer> invoked = new ArrayList<>();
+
+		bus.addThrottledListener(ListenerThrottle.sampled(2), EventPriority.NORMAL, false, CountedEvent.class, event -> invoked.add(event.number));
+
+		for (int number = 1; number <= 8; number++) {
+			final CountedEvent event = new CountedEvent(number);
+			// Only the even numbers reach the listener, so it samples every fourth number
+			event.setCanceled(number % 2 != 0);
+			bus.post(event);
+		}
+
+		assertEquals(Arrays.asList(4, 8), invoked);
+	}
+
+	@Test
+	public void rateLimitedListenersReceiveAtMostTheLimitPerSecond() throws InterruptedException {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<Integer> invoked = new ArrayList<>();
+
+		bus.addThrottledListener(ListenerThrottle.perSecond(5), EventPriority.NORMAL, false, CountedEvent.class, event -> invoked.add(event.number));
+		postRange(bus, 1, 100);
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5), invoked);
+
+		Thread.sleep(NEXT_WINDOW_MILLIS);
+		postRange(bus, 101, 200);
+		assertEquals(Arrays.asList(1, 2, 3, 4, 5, 101, 102, 103, 104, 105), invoked);
+	}
+
+	/**
+	 * The rate limit applies to the sampled events, and the sampling goes on while the limit is reached.
+	 */
+	@Test
+	public void rateLimitsApplyToSampledEvents() throws InterruptedException {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<Integer> invoked = new ArrayList<>();
+
+		bus.addThrottledListener(ListenerThrottle.sampled(10).withRateLimit(3), EventPriority.NORMAL, false, CountedEvent.class, event -> invoked.add(event.number));
+		postRange(bus, 1, 100);
+		assertEquals(Arrays.asList(10, 20, 30), invoked);
+
+		Thread.sleep(NEXT_WINDOW_MILLIS);
+		postRange(bus, 101, 200);
+		assertEquals(Arrays.asList(10, 20, 30, 110, 120, 130), invoked);
+	}
+
+	@Test
+	public void throttlesAreValidated() {
+		assertThrows(IllegalArgumentException.class, () -> ListenerThrottle.sampled(0));
+		assertThrows(IllegalArgumentException.class, () -> ListenerThrottle.perSecond(0));
+		assertThrows(IllegalArgumentException.class, () -> ListenerThrottle.sampled(2).withRateLimit(-1));
+	}
+
+	private static void postRange(IEventBus bus, int first, int last) {
+		for (int number = first; number <= last; number++) {
+			bus.post(new CountedEvent(number));
+		}
+	}
+
+	public static class CountedEvent extends Event {
+		final int number;
+
+		public CountedEvent(int number) {
+			this.number = number;
+		}
+
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+	}
+}
@@ -0,0 +1,26 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.reflect.Modifier;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that the classes of the java9 source set replace the base ones on Java 9 and later, when the bus is loaded
+ * from its multi-release jar as it is by the test task.
+ */
+public class MultiReleaseTest {
+	@Test
+	public void snapshotSlotMatchesRuntime() throws Exception {
+		final Class<?> slot = Class.forName("net.minecraftforge.eventbus.SnapshotSlot");
+		final String location = slot.getProtectionDomain().getCodeSource().getLocation().getPath();
+		assumeTrue(location.endsWith(".jar"), "The bus isn't loaded from its jar");
+
+		// The base class publishes through volatile fields, the Java 9 one through VarHandles on plain fields
+		final boolean versioned = !System.getProperty("java.specification.version").startsWith("1.");
+		final boolean volatileFields = Modifier.isVolatile(slot.getDeclaredField("version").getModifiers());
+		assertEquals(!versioned, volatileFields, "SnapshotSlot variant loaded on Java " + System.getProperty("java.version"));
+	}
+}
@@ -0,0 +1,187 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.sun.management.ThreadMXBean;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.GenericEvent;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.ListenerGroup;
+import net.minecraftforge.eventbus.api.ListenerThrottle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks that posting on a warmed up bus doesn't allocate, by comparing the bytes allocated by the posting thread
+ * before and after a batch of posts. The events themselves are created before the batch starts.
+ */
+public class PostAllocationTest {
+	private static final int POSTS = 10_000;
+	private static final int WARMUP_ROUNDS = 5;
+	private static final int ATTEMPTS = 3;
+
+	private final ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+	private IEventBus bus;
+	private int invocations;
+
+	@BeforeEach
+	public void setUp() {
+		assertTrue(threads.isThreadAllocatedMemorySupported(), "Per-thread allocation counters are not supported");
+		threads.setThreadAllocatedMemoryEnabled(true);
+		bus = BusBuilder.builder().build();
+		invocations = 0;
+	}
+
+	@Test
+	public void plainEvents() {
+		bus.addListener(EventPriority.NORMAL, false, PlainEvent.class, event -> invocations++);
+		assertNoAllocation(PlainEvent::new, 1);
+	}
+
+	@Test
+	public void cancelableEvents() {
+		bus.addListener(EventPriority.HIGH, false, CancelableEvent.class, event -> event.setCanceled(true));
+		bus.addListener(EventPriority.NORMAL, false, CancelableEvent.class, event -> invocations++);
+		bus.addListener(EventPriority.LOW, true, CancelableEvent.class, event -> invocations++);
+		assertNoAllocation(CancelableEvent::new, 1);
+	}
+
+	@Test
+	public void genericEvents() {
+		bus.addGenericListener(String.class, EventPriority.NORMAL, false, StringEvent.class, event -> invocations++);
+		bus.addGenericListener(CharSequence.class, EventPriority.NORMAL, false, StringEvent.class, event -> invocations++);
+		assertNoAllocation(StringEvent::new, 1);
+	}
+
+	@Test
+	public void hierarchicalEvents() {
+		bus.addListener(EventPriority.HIGH, false, PlainEvent.class, event -> invocations++);
+		bus.addListener(EventPriority.NORMAL, false, ChildEvent.class, event -> invocations++);
+		bus.addListener(EventPriority.LOW, false, Event.class, event -> invocations++);
+		assertNoAllocation(ChildEvent::new, 3);
+	}
+
+	@Test
+	public void keyedEvents() {
+		final Function<KeyedEvent, String> key = event -> event.key;
+
+		bus.addKeyedListener(key, "stone", EventPriority.NORMAL, false, KeyedEvent.class, event -> invocations++);
+		bus.addKeyedListener(key, "dirt", EventPriority.NORMAL, false, KeyedEvent.class, event -> invocations++);
+		assertNoAllocation(() -> new KeyedEvent("stone"), 1);
+	}
+
+	@Test
+	public void wrappedListeners() {
+		final ListenerGroup group = ListenerGroup.named("post-allocation-test");
+
+		bus.addThrottledListener(ListenerThrottle.sampled(2).withRateLimit(1_000_000), EventPriority.NORMAL, false, PlainEvent.class, event -> { });
+		bus.registerInGroup(group, groupBus -> groupBus.addListener(EventPriority.NORMAL, false, PlainEvent.class, event -> invocations++));
+		bus.addListener(EventPriority.LOW, false, PlainEvent.class, event -> invocations++);
+		bus.setGroupEnabled(group, false);
+		assertNoAllocation(PlainEvent::new, 1);
+	}
+
+	@Test
+	public void shortCircuitedEvents() {
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> event.setResult(Event.Result.DENY));
+		bus.addListener(EventPriority.NORMAL, false, PermissionEvent.class, event -> invocations++);
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> invocations++);
+		assertNoAllocation(PermissionEvent::new, 1);
+	}
+
+	/**
+	 * Posts warmup rounds, then measures batches of posts until one doesn't allocate.
+	 *
+	 * @param factory            Creates the posted events
+	 * @param invocationsPerPost The number of listeners expected to count each post
+	 */
+	private void assertNoAllocation(Supplier<? extends Event> factory, int invocationsPerPost) {
+		final Event[] events = new Event[POSTS];
+
+		for (int round = 0; round < WARMUP_ROUNDS; round++) {
+			fill(events, factory);
+			postAll(events);
+		}
+
+		assertEquals(WARMUP_ROUNDS * POSTS * invocationsPerPost, invocations, "Listeners were not invoked as expected");
+		long allocated = Long.MAX_VALUE;
+
+		for (int attempt = 0; attempt < ATTEMPTS && allocated > 0; attempt++) {
+			fill(events, factory);
+			allocated = Math.min(allocated, measure(events));
+		}
+
+		assertEquals(0, allocated, "Bytes allocated by " + POSTS + " posts");
+	}
+
+	private static void fill(Event[] events, Supplier<? extends Event> factory) {
+		for (int x = 0; x < events.length; x++) {
+			events[x] = factory.get();
+		}
+	}
+
+	private void postAll(Event[] events) {
+		for (Event event : events) {
+			bus.post(event);
+		}
+	}
+
+	/**
+	 * @return The bytes allocated by posting the events, less what reading the counter allocates by itself
+	 */
+	private long measure(Event[] events) {
+		final long id = Thread.currentThread().getId();
+		final long start = threads.getThreadAllocatedBytes(id);
+		final long overhead = threads.getThreadAllocatedBytes(id) - start;
+		final long before = threads.getThreadAllocatedBytes(id);
+
+		postAll(events);
+		return threads.getThreadAllocatedBytes(id) - before - overhead;
+	}
+
+	public static class PlainEvent extends Event {
+	}
+
+	public static class ChildEvent extends PlainEvent {
+	}
+
+	public static class CancelableEvent extends Event {
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+	}
+
+	public static class StringEvent extends GenericEvent<String> {
+		public StringEvent() {
+			super(String.class);
+		}
+	}
+
+	public static class KeyedEvent extends Event {
+		private final String key;
+
+		public KeyedEvent(String key) {
+			this.key = key;
+		}
+	}
+
+	public static class PermissionEvent extends Event {
+		@Override
+		public boolean hasResult() {
+			return true;
+		}
+
+		@Override
+		public EventPriority getShortCircuitPriority() {
+			return EventPriority.HIGH;
+		}
+	}
+}
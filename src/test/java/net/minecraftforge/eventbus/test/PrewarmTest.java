@@ -0,0 +1,42 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import net.minecraftforge.eventbus.EventBusDiagnostics;
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventListenerHelper;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class PrewarmTest {
+	@Test
+	public void onlyTheClassesUsedByTheBusAreWarmed() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final IEventBus other = BusBuilder.builder().build();
+
+		bus.addListener(EventPriority.NORMAL, false, BaseEvent.class, event -> { });
+		other.addListener(EventPriority.NORMAL, false, OtherEvent.class, event -> { });
+		EventListenerHelper.getListenerList(SubEvent.class);
+
+		bus.prewarm();
+		assertTrue(hasTable(bus, SubEvent.class), "Subclass of a class with listeners on the bus");
+		assertFalse(hasTable(bus, OtherEvent.class), "Class only used by another bus");
+	}
+
+	private static boolean hasTable(IEventBus bus, Class<?> eventClass) {
+		return EventBusDiagnostics.capture(bus).getEntries().stream()
+				.anyMatch(entry -> entry.getEventClass().equals(eventClass.getName()) && entry.getSnapshotSize() >= 0);
+	}
+
+	public static class BaseEvent extends Event {
+	}
+
+	public static class SubEvent extends BaseEvent {
+	}
+
+	public static class OtherEvent extends Event {
+	}
+}
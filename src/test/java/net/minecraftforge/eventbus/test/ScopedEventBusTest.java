@@ -0,0 +1,53 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import net.minecraftforge.eventbus.api.IScopedEventBus;
+import org.junit.jupiter.api.Test;
+
+public class ScopedEventBusTest {
+	// Closed scopes hand their IDs on in order, so enough new scopes are opened to reach the one closed by the test
+	private static final int SCOPES = 16;
+
+	@Test
+	public void scopesReusingTheIDOfAFrozenScopeInheritListeners() {
+		final IEventBus parent = BusBuilder.builder().build();
+		final IScopedEventBus frozen = parent.createScope();
+
+		frozen.addListener(EventPriority.NORMAL, false, BaseEvent.class, event -> { });
+		frozen.post(new SubEvent());
+		frozen.freeze();
+		frozen.close();
+
+		final List<IScopedEventBus> scopes = new ArrayList<>();
+
+		try {
+			for (int x = 0; x < SCOPES; x++) {
+				final IScopedEventBus scope = parent.createScope();
+				final AtomicInteger invoked = new AtomicInteger();
+				scopes.add(scope);
+
+				scope.addListener(EventPriority.NORMAL, false, BaseEvent.class, event -> invoked.incrementAndGet());
+				scope.post(new SubEvent());
+				scope.post(new BaseEvent());
+				assertEquals(2, invoked.get(), "Listener on the superclass invoked for both posts on scope " + x);
+			}
+		} finally {
+			scopes.forEach(IScopedEventBus::close);
+		}
+	}
+
+	public static class BaseEvent extends Event {
+	}
+
+	public static class SubEvent extends BaseEvent {
+	}
+}
@@ -0,0 +1,132 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class ShortCircuitTest {
+	@Test
+	public void undecidedEventsReachEveryListener() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> invoked.add("highest"));
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> invoked.add("high"));
+		bus.addListener(EventPriority.LOWEST, false, PermissionEvent.class, event -> invoked.add("lowest"));
+		bus.post(new PermissionEvent());
+		assertEquals(Arrays.asList("highest", "high", "lowest"), invoked);
+	}
+
+	/**
+	 * Listeners before the decisive band see the whole band before them, the result only ends the dispatch once the band is reached.
+	 */
+	@Test
+	public void resultsSetBeforeTheBandEndTheDispatchAtTheBand() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> {
+			invoked.add("highest deny");
+			event.setResult(Event.Result.DENY);
+		});
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> invoked.add("highest"));
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> invoked.add("high"));
+		bus.addListener(EventPriority.NORMAL, false, PermissionEvent.class, event -> invoked.add("normal"));
+
+		final PermissionEvent event = new PermissionEvent();
+		bus.post(event);
+		assertEquals(Arrays.asList("highest deny", "highest"), invoked);
+		assertEquals(Event.Result.DENY, event.getResult());
+	}
+
+	@Test
+	public void resultsSetInTheBandEndTheDispatchImmediately() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> invoked.add("highest"));
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> {
+			invoked.add("high allow");
+			event.setResult(Event.Result.ALLOW);
+		});
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> invoked.add("high"));
+		bus.addListener(EventPriority.LOW, false, PermissionEvent.class, event -> invoked.add("low"));
+
+		final PermissionEvent event = new PermissionEvent();
+		bus.post(event);
+		assertEquals(Arrays.asList("highest", "high allow"), invoked);
+		assertEquals(Event.Result.ALLOW, event.getResult());
+	}
+
+	@Test
+	public void resultsSetAfterTheBandEndTheDispatchImmediately() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> invoked.add("high"));
+		bus.addListener(EventPriority.LOW, false, PermissionEvent.class, event -> {
+			invoked.add("low deny");
+			event.setResult(Event.Result.DENY);
+		});
+		bus.addListener(EventPriority.LOW, false, PermissionEvent.class, event -> invoked.add("low"));
+		bus.addListener(EventPriority.LOWEST, false, PermissionEvent.class, event -> invoked.add("lowest"));
+		bus.post(new PermissionEvent());
+		assertEquals(Arrays.asList("high", "low deny"), invoked);
+	}
+
+	/**
+	 * Cancellation doesn't decide the event by itself: listeners skipped for not receiving cancelled events can't
+	 * decide it, and the dispatch goes on until a listener that receives them does.
+	 */
+	@Test
+	public void cancelledEventsAreDecidedByListenersReceivingThem() {
+		final IEventBus bus = BusBuilder.builder().build();
+		final List<String> invoked = new ArrayList<>();
+
+		bus.addListener(EventPriority.HIGHEST, false, PermissionEvent.class, event -> {
+			invoked.add("highest cancel");
+			event.setCanceled(true);
+		});
+		bus.addListener(EventPriority.HIGH, false, PermissionEvent.class, event -> {
+			invoked.add("high deny");
+			event.setResult(Event.Result.DENY);
+		});
+		bus.addListener(EventPriority.NORMAL, true, PermissionEvent.class, event -> invoked.add("normal"));
+		bus.addListener(EventPriority.LOW, true, PermissionEvent.class, event -> {
+			invoked.add("low allow");
+			event.setResult(Event.Result.ALLOW);
+		});
+		bus.addListener(EventPriority.LOWEST, true, PermissionEvent.class, event -> invoked.add("lowest"));
+
+		final PermissionEvent event = new PermissionEvent();
+		assertTrue(bus.post(event), "Cancelled");
+		assertEquals(Arrays.asList("highest cancel", "normal", "low allow"), invoked);
+		assertEquals(Event.Result.ALLOW, event.getResult());
+	}
+
+	public static class PermissionEvent extends Event {
+		@Override
+		public boolean isCancelable() {
+			return true;
+		}
+
+		@Override
+		public boolean hasResult() {
+			return true;
+		}
+
+		@Override
+		public EventPriority getShortCircuitPriority() {
+			return EventPriority.HIGH;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package net.minecraftforge.eventbus.test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.minecraftforge.eventbus.api.BusBuilder;
+import net.minecraftforge.eventbus.api.Event;
+import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
+import org.junit.jupiter.api.Test;
+
+public class WeakListenerTest {
+	private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	@Test
+	public void listenersOfCollectedOwnersArePurged() throws Exception {
+		final IEventBus bus = BusBuilder.builder().build();
+		final AtomicInteger invoked = new AtomicInteger();
+		final WeakReference<Object> owner = addListener(bus, invoked);
+
+		bus.post(new TestEvent());
+		assertEquals(1, invoked.get(), "Invoked while the owner is reachable");
+		assertTrue(bus.hasListeners(TestEvent.class));
+
+		final long deadline = System.nanoTime() + TIMEOUT_NANOS;
+
+		// Collected owners are queued by the reference handler thread, and purged on the next post
+		while (bus.hasListeners(TestEvent.class) && System.nanoTime() - deadline < 0) {
+			System.gc();
+			Thread.sleep(10);
+			bus.post(new TestEvent());
+		}
+
+		assertNull(owner.get(), "Owner collected");
+		assertFalse(bus.hasListeners(TestEvent.class), "Listener purged");
+		assertEquals(1, invoked.get(), "Not invoked once the owner was collected");
+	}
+
+	/**
+	 * Adds the listener in a method of its own, so that no local variable keeps the owner reachable.
+	 */
+	private static WeakReference<Object> addListener(IEventBus bus, AtomicInteger invoked) {
+		final Object owner = new Object();
+		bus.addWeakListener(owner, EventPriority.NORMAL, false, TestEvent.class, (self, event) -> invoked.incrementAndGet());
+		return new WeakReference<>(owner);
+	}
+
+	public static class TestEvent extends Event {
+	}
+}